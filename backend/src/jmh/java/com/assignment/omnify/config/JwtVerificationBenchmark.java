@@ -0,0 +1,64 @@
+package com.assignment.omnify.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of authenticating one bearer token in JWTAuthFilter
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET_KEY = "ThisIsASuperStrongSecretKeyForJwt1234567890!";
+
+    private JwtUtil uncached;
+    private JwtUtil cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtUtil(false, 0);
+        cached = new JwtUtil(true, 10_000);
+        token = uncached.generateToken("64f1c2a9e4b0a1b2c3d4e5f6", "reader@example.com");
+    }
+
+    // The previous filter path: a new key and parser per call, and two full parses per request
+    @Benchmark
+    public void previousPath(Blackhole blackhole) {
+        blackhole.consume(legacyParse(token).getSubject());
+        blackhole.consume(legacyParse(token).get("email", String.class));
+    }
+
+    @Benchmark
+    public void singleParse(Blackhole blackhole) {
+        Claims claims = uncached.parseClaims(token);
+        blackhole.consume(claims.getSubject());
+        blackhole.consume(claims.get("email", String.class));
+    }
+
+    @Benchmark
+    public void cachedClaims(Blackhole blackhole) {
+        Claims claims = cached.parseClaims(token);
+        blackhole.consume(claims.getSubject());
+        blackhole.consume(claims.get("email", String.class));
+    }
+
+    private Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET_KEY.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
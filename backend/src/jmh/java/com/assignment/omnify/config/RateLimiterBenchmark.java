@@ -0,0 +1,59 @@
+package com.assignment.omnify.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of RateLimitFilter's bucket check, with every available core taking tokens at once
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(Threads.MAX)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 50_000;
+
+    // Generous enough that no bucket ever runs dry, so every call takes the CAS path
+    private final RateLimiter.Limit limit = RateLimiter.Limit.of(1_000_000, Duration.ofSeconds(1));
+
+    private RateLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        limiter = new RateLimiter(CLIENTS * 2);
+        keys = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            keys[i] = "blog-writes|ip|10.0." + (i >> 8) + "." + (i & 0xFF);
+            limiter.tryAcquire(keys[i], limit);
+        }
+    }
+
+    // Many clients, threads rarely touch the same bucket
+    @Benchmark
+    public long spreadKeys() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(CLIENTS)], limit);
+    }
+
+    // One hot client, every thread retries its CAS on the same bucket
+    @Benchmark
+    public long hotKey() {
+        return limiter.tryAcquire(keys[0], limit);
+    }
+
+    // The key string the filter builds per request, included since it is part of the real cost
+    @Benchmark
+    public long spreadKeysWithKeyBuilding() {
+        int client = ThreadLocalRandom.current().nextInt(CLIENTS);
+        return limiter.tryAcquire("blog-writes|ip|10.0." + (client >> 8) + "." + (client & 0xFF), limit);
+    }
+}
@@ -0,0 +1,64 @@
+package com.assignment.omnify.dto;
+
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.model.User;
+import com.assignment.omnify.support.Fixtures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Mapping and serializing one feed page the way GET /api/blogs returns it
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlogResponseSerializationBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    @Param({"500", "5000"})
+    private int contentLength;
+
+    private ObjectMapper objectMapper;
+    private Page<Blog> blogs;
+    private Page<BlogResponse> responses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<User> authors = Fixtures.users(5);
+        blogs = new PageImpl<>(Fixtures.blogs(pageSize, authors, contentLength, true),
+                PageRequest.of(0, pageSize), 10_000);
+        responses = blogs.map(blog -> BlogResponse.fromEntity(blog, blog.getAuthorName()));
+    }
+
+    @Benchmark
+    public Page<BlogResponse> fromEntity() {
+        return blogs.map(blog -> BlogResponse.fromEntity(blog, blog.getAuthorName()));
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(blogs.map(blog -> BlogResponse.fromEntity(blog, blog.getAuthorName())));
+    }
+}
@@ -0,0 +1,64 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.config.JwtUtil;
+import com.assignment.omnify.dto.LoginRequest;
+import com.assignment.omnify.dto.TokenResponse;
+import com.assignment.omnify.model.User;
+import com.assignment.omnify.support.Fixtures;
+import com.assignment.omnify.support.InMemoryRepositories;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One successful login, dominated by BCrypt verification at the given cost
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AuthLoginBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"8", "10", "12"})
+    private int strength;
+
+    private AuthService authService;
+    private PasswordHashingExecutor passwordHashingExecutor;
+    private LoginRequest request;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(strength);
+
+        User user = Fixtures.users(1).get(0);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+
+        passwordHashingExecutor = new PasswordHashingExecutor(1, 16, Duration.ofSeconds(1));
+        authService = new AuthService(InMemoryRepositories.users(List.of(user)), passwordEncoder, new JwtUtil(false, 0),
+                passwordHashingExecutor);
+
+        request = new LoginRequest();
+        request.setEmail(user.getEmail());
+        request.setPassword(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHashingExecutor.shutdown();
+    }
+
+    @Benchmark
+    public TokenResponse login() {
+        return authService.login(request).join();
+    }
+}
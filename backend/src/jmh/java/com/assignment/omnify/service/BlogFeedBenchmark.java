@@ -0,0 +1,67 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.dto.BlogResponse;
+import com.assignment.omnify.model.User;
+import com.assignment.omnify.repository.BlogRepository;
+import com.assignment.omnify.repository.UserRepository;
+import com.assignment.omnify.search.BlogSearchIndex;
+import com.assignment.omnify.support.Fixtures;
+import com.assignment.omnify.support.InMemoryRepositories;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// BlogService.getAllBlogs over in-memory repositories, isolates the service's own mapping and author join cost
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlogFeedBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    // false exercises the users lookup path taken for blogs written before authorName was stored
+    @Param({"true", "false"})
+    private boolean denormalized;
+
+    private BlogService blogService;
+
+    @Setup
+    public void setUp() {
+        List<User> authors = Fixtures.users(20);
+        UserRepository userRepository = InMemoryRepositories.users(authors);
+        AuthorNameResolver authorNameResolver = new AuthorNameResolver(userRepository,
+                new AuthorNameCache(10_000, Duration.ofMinutes(10)));
+
+        BlogRepository blogRepository = InMemoryRepositories.blogs(Fixtures.blogs(1_000, authors, 2_000, denormalized));
+        BlogPayloadCache blogPayloadCache = new BlogPayloadCache(new ObjectMapper(), DataSize.ofMegabytes(64),
+                Duration.ofMinutes(10), DataSize.ofKilobytes(1));
+        BlogReadCache blogReadCache = new BlogReadCache(10_000, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        // Search and trending are off, the benchmark never writes
+        BlogEventListener blogEvents = new BlogEventListener(blogReadCache, blogPayloadCache,
+                new BlogSearchIndex(blogRepository, false, Path.of("unused"), 500, new SimpleMeterRegistry()),
+                new TrendingBlogs(blogRepository, authorNameResolver, false, Duration.ofHours(6), Duration.ofDays(7),
+                        100, 10_000, 10, 500, new SimpleMeterRegistry()));
+
+        blogService = new BlogService(blogRepository, authorNameResolver, blogPayloadCache, blogReadCache, blogEvents);
+    }
+
+    @Benchmark
+    public Page<BlogResponse> getAllBlogs() {
+        return blogService.getAllBlogs(3, pageSize);
+    }
+}
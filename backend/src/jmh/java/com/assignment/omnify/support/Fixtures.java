@@ -0,0 +1,49 @@
+package com.assignment.omnify.support;
+
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.model.User;
+import org.bson.types.ObjectId;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    public static List<User> users(int count) {
+        List<User> users = new ArrayList<>();
+        Instant now = Instant.now();
+        for (int i = 0; i < count; i++) {
+            users.add(new User(new ObjectId().toHexString(), "author" + i + "@example.com", "Author " + i,
+                    "$2a$10$unused", now, now, null));
+        }
+        return users;
+    }
+
+    // Blogs spread round-robin over the given authors, authorName is only set when denormalized is true
+    public static List<Blog> blogs(int count, List<User> authors, int contentLength, boolean denormalized) {
+        String content = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(contentLength / 57 + 1)
+                .substring(0, contentLength);
+
+        List<Blog> blogs = new ArrayList<>();
+        Instant start = Instant.now().minusSeconds(count);
+        for (int i = 0; i < count; i++) {
+            User author = authors.get(i % authors.size());
+            Blog blog = new Blog();
+            blog.setId(new ObjectId().toHexString());
+            blog.setUserId(author.getId());
+            blog.setTitle("Benchmark post number " + i);
+            blog.setContent(content);
+            blog.setCreatedAt(start.plusSeconds(i));
+            if (denormalized) {
+                blog.setAuthorName(author.getName());
+                blog.setAuthorVersion(0L);
+            }
+            blogs.add(blog);
+        }
+        return blogs;
+    }
+}
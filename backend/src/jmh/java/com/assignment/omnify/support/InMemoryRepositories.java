@@ -0,0 +1,99 @@
+package com.assignment.omnify.support;
+
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.model.User;
+import com.assignment.omnify.repository.BlogRepository;
+import com.assignment.omnify.repository.UserRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Map-backed stand-ins for the Mongo repositories, only the methods the benchmarked services call are implemented
+public final class InMemoryRepositories {
+
+    private static final Comparator<Blog> NEWEST_FIRST = Comparator
+            .comparing(Blog::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(Blog::getId, Comparator.reverseOrder());
+
+    private InMemoryRepositories() {
+    }
+
+    public static UserRepository users(List<User> users) {
+        Map<String, User> byId = new LinkedHashMap<>();
+        users.forEach(user -> byId.put(user.getId(), user));
+
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.ofNullable(byId.get((String) args[0]));
+                    case "findAllById" -> {
+                        List<User> found = new ArrayList<>();
+                        for (Object id : (Iterable<?>) args[0]) {
+                            User user = byId.get((String) id);
+                            if (user != null) {
+                                found.add(user);
+                            }
+                        }
+                        yield found;
+                    }
+                    case "findByEmail" -> byId.values().stream()
+                            .filter(user -> user.getEmail().equals(args[0]))
+                            .findFirst();
+                    case "existsByEmail" -> byId.values().stream().anyMatch(user -> user.getEmail().equals(args[0]));
+                    case "save" -> {
+                        User user = (User) args[0];
+                        byId.put(user.getId(), user);
+                        yield user;
+                    }
+                    case "updatePassword" -> {
+                        User user = byId.get((String) args[0]);
+                        if (user == null || !user.getPassword().equals(args[1])) {
+                            yield 0L;
+                        }
+                        user.setPassword((String) args[2]);
+                        yield 1L;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryUserRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public static BlogRepository blogs(List<Blog> blogs) {
+        List<Blog> sorted = new ArrayList<>(blogs);
+        sorted.sort(NEWEST_FIRST);
+
+        return (BlogRepository) Proxy.newProxyInstance(
+                BlogRepository.class.getClassLoader(),
+                new Class<?>[]{BlogRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> page(sorted, (Pageable) args[0]);
+                    case "findAllBy" -> {
+                        Page<Blog> page = page(sorted, (Pageable) args[0]);
+                        yield new SliceImpl<>(page.getContent(), page.getPageable(), page.hasNext());
+                    }
+                    case "findById" -> sorted.stream().filter(blog -> blog.getId().equals(args[0])).findFirst();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryBlogRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static Page<Blog> page(List<Blog> blogs, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), blogs.size());
+        int to = Math.min(from + pageable.getPageSize(), blogs.size());
+        return new PageImpl<>(blogs.subList(from, to), pageable, blogs.size());
+    }
+}
@@ -0,0 +1,142 @@
+package com.assignment.omnify;
+
+import com.assignment.omnify.config.JwtUtil;
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.repository.BlogRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A burst of concurrent GET /api/blogs/{id} for one blog while findById takes 200 ms.
+ * The whole burst should cost a single repository read, shared by every request,
+ * and reach Mongo as views in one $inc when the shutdown flush runs.
+ */
+class BlogReadCoalescingLoadTest {
+
+    private static final Duration REPOSITORY_LATENCY = Duration.ofMillis(200);
+    private static final int CONCURRENCY = 200;
+
+    private static final String BLOG_ID = new ObjectId().toHexString();
+    private static final AtomicInteger FIND_BY_ID_CALLS = new AtomicInteger();
+    private static final AtomicLong FLUSHED_VIEWS = new AtomicLong();
+    private static final AtomicInteger INCREMENT_VIEWS_CALLS = new AtomicInteger();
+
+    @Test
+    void concurrentReadsOfOneBlogShareOneRepositoryRead() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OmnifyApplication.class, SlowRepository.class)
+                .run(
+                        "--server.port=0",
+                        "--management.server.port=0",
+                        "--spring.threads.virtual.enabled=true",
+                        "--spring.data.mongodb.uri=mongodb://localhost:27017/omnify",
+                        "--omnify.mongo.indexes.mode=off",
+                        "--omnify.search.enabled=false",
+                        "--omnify.cache.invalidation.enabled=false",
+                        "--omnify.trending.enabled=false",
+                        "--logging.level.root=WARN")) {
+
+            String port = context.getEnvironment().getProperty("local.server.port");
+            String token = context.getBean(JwtUtil.class).generateToken(new ObjectId().toHexString(), "load@example.com");
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/blogs/" + BLOG_ID))
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+
+            List<Future<HttpResponse<String>>> responses = new ArrayList<>(CONCURRENCY);
+            CountDownLatch start = new CountDownLatch(1);
+            try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+                 ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < CONCURRENCY; i++) {
+                    responses.add(clients.submit(() -> {
+                        start.await();
+                        return client.send(request, HttpResponse.BodyHandlers.ofString());
+                    }));
+                }
+                start.countDown();
+
+                Set<String> bodies = new HashSet<>();
+                for (Future<HttpResponse<String>> response : responses) {
+                    assertThat(response.get().statusCode()).isEqualTo(200);
+                    bodies.add(response.get().body());
+                }
+                assertThat(bodies).hasSize(1);
+            }
+
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            System.out.printf("%d requests, %d findById calls, outcomes: load %.0f, coalesced %.0f, hit %.0f%n",
+                    CONCURRENCY, FIND_BY_ID_CALLS.get(),
+                    registry.counter("omnify.blog.reads", "outcome", "load").count(),
+                    registry.counter("omnify.blog.reads", "outcome", "coalesced").count(),
+                    registry.counter("omnify.blog.reads", "outcome", "hit").count());
+
+            assertThat(FIND_BY_ID_CALLS.get()).isEqualTo(1);
+        }
+
+        assertThat(FLUSHED_VIEWS.get()).isEqualTo(CONCURRENCY);
+        assertThat(INCREMENT_VIEWS_CALLS.get()).isEqualTo(1);
+    }
+
+    @Configuration
+    static class SlowRepository {
+
+        @Bean
+        @Primary
+        @SuppressWarnings("unchecked")
+        BlogRepository slowBlogRepository() {
+            Blog blog = new Blog();
+            blog.setId(BLOG_ID);
+            blog.setUserId(new ObjectId().toHexString());
+            blog.setAuthorName("Author");
+            blog.setTitle("Viral post");
+            blog.setContent("Everyone is reading this");
+            blog.setCreatedAt(Instant.now());
+
+            return (BlogRepository) Proxy.newProxyInstance(
+                    BlogRepository.class.getClassLoader(),
+                    new Class<?>[]{BlogRepository.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "findById" -> {
+                            FIND_BY_ID_CALLS.incrementAndGet();
+                            Thread.sleep(REPOSITORY_LATENCY);
+                            yield Optional.of(blog);
+                        }
+                        case "incrementViews" -> {
+                            INCREMENT_VIEWS_CALLS.incrementAndGet();
+                            ((Map<String, Long>) args[0]).values().forEach(FLUSHED_VIEWS::addAndGet);
+                            yield Set.of();
+                        }
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> "SlowBlogRepository";
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+}
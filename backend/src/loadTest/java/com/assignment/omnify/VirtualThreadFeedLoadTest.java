@@ -0,0 +1,180 @@
+package com.assignment.omnify;
+
+import com.assignment.omnify.config.JwtUtil;
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.repository.BlogRepository;
+import com.assignment.omnify.repository.BlogValidatorView;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GET /api/blogs with every BlogRepository call delayed to simulate a slow Mongo.
+ * The same load runs against the Tomcat worker pool and against virtual threads.
+ */
+class VirtualThreadFeedLoadTest {
+
+    private static final Duration REPOSITORY_LATENCY = Duration.ofMillis(200);
+    private static final int TOMCAT_MAX_THREADS = 20;
+    private static final int CONCURRENCY = 200;
+    private static final int REQUESTS = 2_000;
+
+    @Test
+    void virtualThreadsServeMoreRequestsUnderRepositoryLatency() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("platform threads: %s%nvirtual threads:  %s%n", platform, virtual);
+
+        assertThat(virtual.failures).isZero();
+        assertThat(virtual.throughput).isGreaterThan(platform.throughput * 2);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OmnifyApplication.class, SlowRepositories.class)
+                .run(
+                        "--server.port=0",
+                        "--management.server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                        "--spring.data.mongodb.uri=mongodb://localhost:27017/omnify",
+                        "--omnify.mongo.indexes.mode=off",
+                        "--omnify.search.enabled=false",
+                        "--omnify.cache.invalidation.enabled=false",
+                        "--omnify.trending.enabled=false",
+                        "--logging.level.root=WARN")) {
+
+            String port = context.getEnvironment().getProperty("local.server.port");
+            String token = context.getBean(JwtUtil.class).generateToken(new ObjectId().toHexString(), "load@example.com");
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/blogs?page=0&size=20"))
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+
+            try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+                fire(client, request, CONCURRENCY);
+                return fire(client, request, REQUESTS);
+            }
+        }
+    }
+
+    private Result fire(HttpClient client, HttpRequest request, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        List<Future<Integer>> responses = new ArrayList<>(requests);
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY, Thread.ofVirtual().factory())) {
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                responses.add(clients.submit(() -> {
+                    long sent = System.nanoTime();
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    latencies[index] = System.nanoTime() - sent;
+                    return status;
+                }));
+            }
+
+            int failures = 0;
+            for (Future<Integer> response : responses) {
+                if (response.get() != 200) {
+                    failures++;
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            return new Result(requests / seconds, latencies[(int) (requests * 0.99) - 1] / 1_000_000, failures);
+        }
+    }
+
+    private record Result(double throughput, long p99Millis, int failures) {
+
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p99 %d ms, %d failures", throughput, p99Millis, failures);
+        }
+    }
+
+    @Configuration
+    static class SlowRepositories {
+
+        @Bean
+        @Primary
+        BlogRepository slowBlogRepository() {
+            List<Blog> blogs = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                Blog blog = new Blog();
+                blog.setId(new ObjectId().toHexString());
+                blog.setUserId(new ObjectId().toHexString());
+                blog.setAuthorName("Author " + i);
+                blog.setTitle("Post " + i);
+                blog.setContent("Body of post " + i);
+                blog.setCreatedAt(Instant.now().minusSeconds(i));
+                blogs.add(blog);
+            }
+
+            return (BlogRepository) Proxy.newProxyInstance(
+                    BlogRepository.class.getClassLoader(),
+                    new Class<?>[]{BlogRepository.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "findAll" -> {
+                            Thread.sleep(REPOSITORY_LATENCY);
+                            yield new PageImpl<>(blogs, (Pageable) args[0], 10_000);
+                        }
+                        case "findValidatorsBy" -> {
+                            Thread.sleep(REPOSITORY_LATENCY);
+                            yield new PageImpl<>(blogs.stream().map(SlowRepositories::validatorOf).toList(), (Pageable) args[0], 10_000);
+                        }
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> "SlowBlogRepository";
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        private static BlogValidatorView validatorOf(Blog blog) {
+            return new BlogValidatorView() {
+                @Override
+                public String getId() {
+                    return blog.getId();
+                }
+
+                @Override
+                public Instant getCreatedAt() {
+                    return blog.getCreatedAt();
+                }
+
+                @Override
+                public Instant getUpdatedAt() {
+                    return blog.getUpdatedAt();
+                }
+
+                @Override
+                public Long getAuthorVersion() {
+                    return blog.getAuthorVersion();
+                }
+            };
+        }
+    }
+}
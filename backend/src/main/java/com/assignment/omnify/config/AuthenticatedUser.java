@@ -0,0 +1,12 @@
+package com.assignment.omnify.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Principal built by JWTAuthFilter from the verified token claims
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser {
+    private final String userId;
+    private final String email;
+}
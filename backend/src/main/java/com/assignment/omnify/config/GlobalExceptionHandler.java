@@ -2,6 +2,10 @@ package com.assignment.omnify.config;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.support.WebExchangeBindException;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -15,7 +19,16 @@ public class GlobalExceptionHandler {
     public ResponseEntity<Map<String, String>> handle(ResponseStatusException ex) {
         Map<String, String> error = new HashMap<>();
         error.put("message", ex.getReason());
-        return ResponseEntity.status(ex.getStatusCode()).body(error);
+        return ResponseEntity.status(ex.getStatusCode()).headers(ex.getHeaders()).body(error);
+    }
+
+    // @Valid request bodies on either stack, both exceptions are a BindingResult
+    @org.springframework.web.bind.annotation.ExceptionHandler({MethodArgumentNotValidException.class, WebExchangeBindException.class})
+    public ResponseEntity<Map<String, String>> handleInvalid(Exception ex) {
+        FieldError field = ((BindingResult) ex).getFieldError();
+        Map<String, String> error = new HashMap<>();
+        error.put("message", field != null ? field.getField() + ": " + field.getDefaultMessage() : "Invalid request");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(Exception.class)
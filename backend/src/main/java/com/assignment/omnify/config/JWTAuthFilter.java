@@ -1,9 +1,18 @@
 package com.assignment.omnify.config;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -11,14 +20,23 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
+@Profile("!reactive")
 public class JWTAuthFilter extends OncePerRequestFilter{
 
-    private final JwtUtil jwtUtil; 
+    private final JwtUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
+    private final Timer verifySuccess;
+    private final Timer verifyFailure;
 
-    public JWTAuthFilter(JwtUtil jwtUtil) {
+    public JWTAuthFilter(JwtUtil jwtUtil, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
+        this.verifySuccess = verifyTimer(meterRegistry, "success");
+        this.verifyFailure = verifyTimer(meterRegistry, "failure");
     }
 
     @Override
@@ -30,23 +48,60 @@ public class JWTAuthFilter extends OncePerRequestFilter{
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
 
+            long start = System.nanoTime();
             try {
-                String userId = jwtUtil.extractUserId(token);
-                String email = jwtUtil.extractEmail(token);
+                // Already verified when a per-user rate limit applied to this request
+                Claims claims = (Claims) request.getAttribute(RateLimitFilter.VERIFIED_CLAIMS);
+                if (claims == null) {
+                    claims = jwtUtil.parseClaims(token);
+                    verifySuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+
+                String userId = claims.getSubject();
+                String email = claims.get("email", String.class);
 
                 if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                     UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(email, null, null);
+                            new UsernamePasswordAuthenticationToken(new AuthenticatedUser(userId, email), null, null);
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
             } catch (Exception e) {
-                System.out.println(">>> JWT validation failed: " + e.getMessage());
+                verifyFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                String reason = failureReason(e);
+                meterRegistry.counter("omnify.jwt.failures", "reason", reason).increment();
+                log.debug("JWT validation failed ({}): {}", reason, e.getMessage());
             }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    static String failureReason(Exception e) {
+        if (e instanceof ExpiredJwtException) {
+            return "expired";
+        }
+        if (e instanceof SignatureException) {
+            return "signature";
+        }
+        if (e instanceof MalformedJwtException) {
+            return "malformed";
+        }
+        if (e instanceof UnsupportedJwtException) {
+            return "unsupported";
+        }
+        if (e instanceof IllegalArgumentException) {
+            return "empty";
+        }
+        return "other";
+    }
+
+    static Timer verifyTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("omnify.jwt.verify")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
 }
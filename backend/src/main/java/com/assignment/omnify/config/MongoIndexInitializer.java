@@ -0,0 +1,133 @@
+package com.assignment.omnify.config;
+
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Creates or verifies the indexes declared on the mapped documents at startup.
+ * mode=create builds missing indexes, mode=verify only reports them, mode=off skips the check; any other mode fails
+ * the startup rather than quietly doing less than asked.
+ * With strict=true a missing or failed index stops the application from starting.
+ */
+@Slf4j
+@Component
+public class MongoIndexInitializer implements ApplicationRunner {
+
+    public enum Mode { CREATE, VERIFY, OFF }
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(User.class, Blog.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final IndexResolver indexResolver;
+    private final Mode mode;
+    private final boolean strict;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate,
+                                 MongoMappingContext mappingContext,
+                                 @Value("${omnify.mongo.indexes.mode:create}") Mode mode,
+                                 @Value("${omnify.mongo.indexes.strict:false}") boolean strict) {
+        this.mongoTemplate = mongoTemplate;
+        this.indexResolver = IndexResolver.create(mappingContext);
+        this.mode = mode;
+        this.strict = strict;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+
+        boolean create = mode == Mode.CREATE;
+        List<String> problems = new ArrayList<>();
+
+        for (Class<?> type : INDEXED_DOCUMENTS) {
+            String collection = mongoTemplate.getCollectionName(type);
+            for (IndexDefinition index : indexResolver.resolveIndexFor(type)) {
+                String status;
+                try {
+                    status = check(type, collection, index, create);
+                } catch (RuntimeException e) {
+                    status = "failed (" + e.getMessage() + ")";
+                }
+
+                log.info("Index {} {} on {}: {}", collection, index.getIndexKeys().toJson(), index.getIndexOptions().toJson(), status);
+                if (!status.equals("present") && !status.equals("created")) {
+                    problems.add(collection + " " + index.getIndexKeys().toJson() + " " + status);
+                }
+            }
+        }
+
+        if (problems.isEmpty()) {
+            log.info("All declared MongoDB indexes are in place");
+        } else if (strict) {
+            throw new IllegalStateException("MongoDB indexes not in place: " + problems);
+        } else {
+            log.warn("MongoDB indexes not in place, queries may fall back to collection scans: {}", problems);
+        }
+    }
+
+    private String check(Class<?> type, String collection, IndexDefinition index, boolean create) {
+        if (exists(collection, index)) {
+            return "present";
+        }
+        if (!create) {
+            return "missing";
+        }
+        mongoTemplate.indexOps(type).createIndex(index);
+        return "created";
+    }
+
+    private boolean exists(String collection, IndexDefinition index) {
+        if (!mongoTemplate.collectionExists(collection)) {
+            return false;
+        }
+
+        boolean unique = Boolean.TRUE.equals(index.getIndexOptions().get("unique"));
+        for (Document existing : mongoTemplate.getCollection(collection).listIndexes()) {
+            if (sameKeys(existing.get("key", Document.class), index.getIndexKeys())
+                    && unique == Boolean.TRUE.equals(existing.get("unique"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Key order matters for compound indexes, directions may come back as int or double
+    private boolean sameKeys(Document existing, Document expected) {
+        if (existing == null || existing.size() != expected.size()) {
+            return false;
+        }
+
+        var expectedKeys = expected.entrySet().iterator();
+        for (Map.Entry<String, Object> key : existing.entrySet()) {
+            Map.Entry<String, Object> expectedKey = expectedKeys.next();
+            if (!key.getKey().equals(expectedKey.getKey()) || !sameDirection(key.getValue(), expectedKey.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean sameDirection(Object existing, Object expected) {
+        if (existing instanceof Number a && expected instanceof Number b) {
+            return a.intValue() == b.intValue();
+        }
+        return Objects.equals(existing, expected);
+    }
+}
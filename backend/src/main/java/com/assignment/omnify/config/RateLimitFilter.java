@@ -0,0 +1,191 @@
+package com.assignment.omnify.config;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the first omnify.rate-limit rule whose method and path match, ahead of JWTAuthFilter.
+ * Rejected requests get a 429 with Retry-After and never reach authentication, BCrypt or Mongo.
+ * A token verified here for a per-user rule is handed to JWTAuthFilter instead of being parsed twice.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String VERIFIED_CLAIMS = RateLimitFilter.class.getName() + ".claims";
+
+    private static final String REJECTED_BODY = "{\"message\":\"Too many requests\"}";
+
+    private final RateLimiter limiter;
+    private final List<Route> routes;
+    private final boolean enabled;
+    private final JwtUtil jwtUtil;
+    private final Timer verifySuccess;
+
+    public RateLimitFilter(RateLimitProperties properties, JwtUtil jwtUtil, MeterRegistry meterRegistry) {
+        this.limiter = new RateLimiter(properties.getMaxBuckets());
+        this.enabled = properties.isEnabled();
+        this.jwtUtil = jwtUtil;
+        this.verifySuccess = JWTAuthFilter.verifyTimer(meterRegistry, "success");
+
+        List<Route> routes = new ArrayList<>();
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            routes.add(Route.of(rule, meterRegistry));
+        }
+        this.routes = List.copyOf(routes);
+
+        Gauge.builder("omnify.ratelimit.buckets", limiter, RateLimiter::size).register(meterRegistry);
+        FunctionCounter.builder("omnify.ratelimit.overflow", limiter, RateLimiter::overflowCount)
+                .description("Requests let through untracked because the bucket table was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Route route = match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // The remote address is the client's, resolved from X-Forwarded-For only for trusted proxies (RemoteIpValve)
+        String userId = route.key() == RateLimitProperties.Key.USER ? userOf(request) : null;
+        String key = userId != null
+                ? route.name() + "|user|" + userId
+                : route.name() + "|ip|" + request.getRemoteAddr();
+
+        long wait = limiter.tryAcquire(key, route.limit());
+        if (wait == 0) {
+            route.allowed().increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        route.rejected().increment();
+        long retryAfterSeconds = Math.max(1, (wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        log.debug("Rate limit {} rejected {}, retry after {}s", route.name(), key, retryAfterSeconds);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(REJECTED_BODY);
+    }
+
+    @Scheduled(fixedDelayString = "${omnify.rate-limit.eviction-interval:1m}",
+            initialDelayString = "${omnify.rate-limit.eviction-interval:1m}")
+    public void evictIdleBuckets() {
+        if (enabled) {
+            int evicted = limiter.evictIdle();
+            log.debug("Evicted {} idle rate limit buckets, {} left", evicted, limiter.size());
+        }
+    }
+
+    private Route match(HttpServletRequest request) {
+        String method = request.getMethod();
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Route route : routes) {
+            if (route.matches(method, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    // Reuses an authentication that is already in place, otherwise verifies the bearer token itself
+    private String userOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getUserId();
+        }
+
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        try {
+            Claims claims = jwtUtil.parseClaims(authHeader.substring(7));
+            verifySuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            request.setAttribute(VERIFIED_CLAIMS, claims);
+            return claims.getSubject();
+        } catch (Exception e) {
+            // JWTAuthFilter parses it again and reports the failure
+            return null;
+        }
+    }
+
+    private record Route(String name, Set<String> methods, List<PathPattern> paths, RateLimitProperties.Key key,
+                         RateLimiter.Limit limit, Counter allowed, Counter rejected) {
+
+        static Route of(RateLimitProperties.Rule rule, MeterRegistry registry) {
+            if (rule.getName() == null || rule.getName().isBlank() || rule.getPaths().isEmpty()) {
+                throw new IllegalStateException("Every rate limit rule needs a name and at least one path");
+            }
+            return new Route(
+                    rule.getName(),
+                    rule.getMethods().stream().map(method -> method.toUpperCase(Locale.ROOT)).collect(Collectors.toSet()),
+                    rule.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList(),
+                    rule.getKey(),
+                    RateLimiter.Limit.of(rule.getCapacity(), rule.getPeriod()),
+                    decisions(registry, rule.getName(), "allowed"),
+                    decisions(registry, rule.getName(), "rejected"));
+        }
+
+        boolean matches(String method, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            for (PathPattern pattern : paths) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static Counter decisions(MeterRegistry registry, String rule, String outcome) {
+            return Counter.builder("omnify.ratelimit.requests")
+                    .tag("rule", rule)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.assignment.omnify.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "omnify.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private int maxBuckets = 100_000;
+    private Duration evictionInterval = Duration.ofMinutes(1);
+    private List<Rule> rules = new ArrayList<>();
+
+    public enum Key {
+        IP, USER
+    }
+
+    @Getter
+    @Setter
+    public static class Rule {
+        private String name;
+        // Empty matches every method
+        private List<String> methods = new ArrayList<>();
+        private List<String> paths = new ArrayList<>();
+        // USER falls back to the client IP for requests without a valid token
+        private Key key = Key.IP;
+        private int capacity;
+        private Duration period = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,144 @@
+package com.assignment.omnify.config;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets stored as GCRA theoretical arrival times: one AtomicLong per key, updated with a CAS, so taking a
+ * token never locks. Keys are spread over fixed stripes, each holding at most maxBuckets / STRIPES buckets.
+ * A bucket whose arrival time has passed is full again and indistinguishable from a new one, so idle buckets are
+ * dropped without changing any decision. When a stripe is full of active buckets, new keys are let through
+ * untracked rather than rejected, and counted as overflow.
+ */
+public final class RateLimiter {
+
+    static final int STRIPES = 64;
+
+    // A full stripe is swept at most this often, so a flood of new keys cannot turn every request into a sweep
+    private static final long MIN_SWEEP_INTERVAL_NANOS = Duration.ofMillis(100).toNanos();
+
+    /**
+     * capacity requests may arrive at once, after that one more every period / capacity.
+     */
+    public record Limit(long emissionIntervalNanos, long burstToleranceNanos) {
+
+        public static Limit of(int capacity, Duration period) {
+            if (capacity < 1 || period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("A limit needs a positive capacity and period");
+            }
+            long emissionInterval = Math.max(1, period.toNanos() / capacity);
+            return new Limit(emissionInterval, emissionInterval * capacity);
+        }
+    }
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final int maxBucketsPerStripe;
+    private final LongSupplier clock;
+    private final LongAdder overflow = new LongAdder();
+
+    public RateLimiter(int maxBuckets) {
+        this(maxBuckets, System::nanoTime);
+    }
+
+    RateLimiter(int maxBuckets, LongSupplier clock) {
+        this.maxBucketsPerStripe = Math.max(1, maxBuckets / STRIPES);
+        this.clock = clock;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(clock.getAsLong() - MIN_SWEEP_INTERVAL_NANOS);
+        }
+    }
+
+    /**
+     * Takes one token from the bucket of key. Returns 0 when the request may proceed,
+     * otherwise the nanoseconds until it would have been allowed.
+     */
+    public long tryAcquire(String key, Limit limit) {
+        long now = clock.getAsLong();
+        Stripe stripe = stripeFor(key);
+
+        AtomicLong bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            bucket = stripe.admit(key, now);
+            if (bucket == null) {
+                overflow.increment();
+                return 0;
+            }
+        }
+
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + limit.emissionIntervalNanos();
+            long wait = next - now - limit.burstToleranceNanos();
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Drops every bucket that has refilled completely, returns how many were dropped
+    public int evictIdle() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            evicted += stripe.evictIdle(now);
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    public long overflowCount() {
+        return overflow.sum();
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private final class Stripe {
+
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong sweptAt;
+
+        private Stripe(long sweptAt) {
+            this.sweptAt = new AtomicLong(sweptAt);
+        }
+
+        private AtomicLong admit(String key, long now) {
+            if (buckets.size() >= maxBucketsPerStripe) {
+                long lastSweep = sweptAt.get();
+                if (now - lastSweep < MIN_SWEEP_INTERVAL_NANOS || !sweptAt.compareAndSet(lastSweep, now)) {
+                    return null;
+                }
+                evictIdle(now);
+                if (buckets.size() >= maxBucketsPerStripe) {
+                    return null;
+                }
+            }
+
+            AtomicLong fresh = new AtomicLong(now);
+            AtomicLong existing = buckets.putIfAbsent(key, fresh);
+            return existing != null ? existing : fresh;
+        }
+
+        // A thread still holding an evicted bucket spends its token there, at worst one extra request gets through
+        private int evictIdle(long now) {
+            int before = buckets.size();
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+            return Math.max(0, before - buckets.size());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.assignment.omnify.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ReactorResourceFactory;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher.MatchResult;
+import reactor.netty.resources.LoopResources;
+
+// Only loaded with the "reactive" profile: Netty with a fixed event loop and the same security rules as SecurityConfig
+@Configuration
+@Profile("reactive")
+@EnableWebFluxSecurity
+public class ReactiveConfig {
+
+    @Bean
+    public ReactorResourceFactory reactorResourceFactory(@Value("${omnify.reactive.event-loop-threads:4}") int eventLoopThreads) {
+        ReactorResourceFactory factory = new ReactorResourceFactory();
+        factory.setUseGlobalResources(false);
+        factory.setLoopResources(LoopResources.create("omnify-http", eventLoopThreads, true));
+        return factory;
+    }
+
+    // Declared explicitly so Netty is used even though Tomcat is on the classpath for the servlet stack
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(ReactorResourceFactory resourceFactory) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.setResourceFactory(resourceFactory);
+        return factory;
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtUtil jwtUtil, MeterRegistry meterRegistry,
+                                                         @Value("${server.port:8080}") int serverPort,
+                                                         @Value("${management.server.port:-1}") int managementPort) {
+        boolean separateManagementPort = managementPort > 0 && managementPort != serverPort;
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+                .authorizeExchange(auth -> auth
+                        .pathMatchers("/api/auth/**").permitAll()
+                        .pathMatchers("/actuator/health").permitAll()
+                        .matchers(exchange -> separateManagementPort
+                                && exchange.getRequest().getLocalAddress() != null
+                                && exchange.getRequest().getLocalAddress().getPort() == managementPort
+                                ? MatchResult.match() : MatchResult.notMatch()).permitAll()
+                        .anyExchange().authenticated()
+                )
+                .addFilterAt(new ReactiveJWTAuthFilter(jwtUtil, meterRegistry), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
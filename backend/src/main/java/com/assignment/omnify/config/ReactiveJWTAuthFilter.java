@@ -0,0 +1,68 @@
+package com.assignment.omnify.config;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+// WebFlux twin of JWTAuthFilter, the principal goes into the Reactor context instead of a thread local.
+// Not a bean on purpose: it is only added to the security chain, not to every WebFlux handler.
+@Slf4j
+public class ReactiveJWTAuthFilter implements WebFilter {
+
+    private final JwtUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
+    private final Timer verifySuccess;
+    private final Timer verifyFailure;
+
+    public ReactiveJWTAuthFilter(JwtUtil jwtUtil, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
+        this.verifySuccess = JWTAuthFilter.verifyTimer(meterRegistry, "success");
+        this.verifyFailure = JWTAuthFilter.verifyTimer(meterRegistry, "failure");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        String token = authHeader.substring(7);
+
+        long start = System.nanoTime();
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(token);
+            verifySuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            verifyFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            String reason = JWTAuthFilter.failureReason(e);
+            meterRegistry.counter("omnify.jwt.failures", "reason", reason).increment();
+            log.debug("JWT validation failed ({}): {}", reason, e.getMessage());
+            return chain.filter(exchange);
+        }
+
+        String userId = claims.getSubject();
+        if (userId == null) {
+            return chain.filter(exchange);
+        }
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, claims.get("email", String.class)), null, null);
+
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+}
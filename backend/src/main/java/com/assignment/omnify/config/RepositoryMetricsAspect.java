@@ -0,0 +1,62 @@
+package com.assignment.omnify.config;
+
+import com.assignment.omnify.repository.BlogRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+// Documents returned per repository call; latency comes from Boot's spring.data.repository.invocations timer
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry registry;
+
+    @Around("execution(* com.assignment.omnify.repository.*Repository.*(..))")
+    public Object countDocuments(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+
+        long documents = documentsIn(result);
+        if (documents >= 0) {
+            DistributionSummary.builder("omnify.mongo.repository.documents")
+                    .tag("repository", repositoryName(joinPoint.getTarget()))
+                    .tag("method", joinPoint.getSignature().getName())
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(documents);
+        }
+        return result;
+    }
+
+    // Inherited methods such as findById are declared on CrudRepository, so name the proxied interface instead
+    private String repositoryName(Object repository) {
+        for (Class<?> type : repository.getClass().getInterfaces()) {
+            if (type.getPackage() == BlogRepository.class.getPackage()) {
+                return type.getSimpleName();
+            }
+        }
+        return repository.getClass().getSimpleName();
+    }
+
+    private long documentsIn(Object result) {
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+}
@@ -6,10 +6,16 @@ import com.assignment.omnify.dto.SignupRequest;
 import com.assignment.omnify.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
 @RequestMapping("/api/auth")
 public class AuthController {
@@ -17,16 +23,16 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/signup")
-    public ResponseEntity<TokenResponse> signup(@Valid @RequestBody SignupRequest request) {
-        System.out.println(">>> Inside signup controller with request: " + request);
-        return ResponseEntity.ok(authService.signup(request));
+    public CompletableFuture<ResponseEntity<TokenResponse>> signup(@Valid @RequestBody SignupRequest request) {
+        log.debug("Signup request for {}", request.getEmail());
+        return authService.signup(request).thenApply(ResponseEntity::ok);
     }
 
 
     @PostMapping("/login")
-    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest request) {
-        System.out.println(">>> LoginRequest received: " + request.getEmail() + ", " + request.getPassword());
-        return ResponseEntity.ok(authService.login(request));
+    public CompletableFuture<ResponseEntity<TokenResponse>> login(@Valid @RequestBody LoginRequest request) {
+        log.debug("Login request for {}", request.getEmail());
+        return authService.login(request).thenApply(ResponseEntity::ok);
     }
 
 }
@@ -1,66 +1,215 @@
 package com.assignment.omnify.controller;
 
+import com.assignment.omnify.dto.BlogBulkUpdateRequest;
 import com.assignment.omnify.dto.BlogRequest;
+import com.assignment.omnify.dto.BlogSearchHit;
 import com.assignment.omnify.dto.BlogResponse;
-import com.assignment.omnify.repository.UserRepository;
+import com.assignment.omnify.dto.BlogSummaryResponse;
+import com.assignment.omnify.dto.BlogViewsResponse;
+import com.assignment.omnify.dto.BulkResponse;
+import com.assignment.omnify.dto.CursorPage;
+import com.assignment.omnify.service.BlogBulkService;
+import com.assignment.omnify.service.BlogExportService;
+import com.assignment.omnify.service.BlogPayloadCache;
+import com.assignment.omnify.service.BlogSearchService;
 import com.assignment.omnify.service.BlogService;
-import com.assignment.omnify.config.JwtUtil;
+import com.assignment.omnify.service.BlogViewCounter;
+import com.assignment.omnify.service.TrendingBlogs;
+import com.assignment.omnify.service.ContentValidator;
+import com.assignment.omnify.config.AuthenticatedUser;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/blogs")
 @RequiredArgsConstructor
 public class BlogController {
 
+    // Stored but revalidated on every use, instead of the no-store Spring Security sets by default
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
     private final BlogService blogService;
-    private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final BlogExportService blogExportService;
+    private final BlogBulkService blogBulkService;
+    private final BlogSearchService blogSearchService;
+    private final BlogViewCounter blogViewCounter;
+    private final TrendingBlogs trendingBlogs;
 
     @PostMapping
     public ResponseEntity<BlogResponse> createBlog(
-            @RequestHeader("Authorization") String authHeader,
-            @RequestBody BlogRequest request) {
+            @Valid @RequestBody BlogRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(blogService.createBlog(request, user.getUserId()));
+    }
+
+
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResponse> createBlogs(
+            @RequestBody List<BlogRequest> requests,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(blogBulkService.createBlogs(requests, user.getUserId()));
+    }
 
-        String token = authHeader.substring(7);
-        String userId = jwtUtil.extractUserId(token);
 
-        return ResponseEntity.ok(blogService.createBlog(request, userId));
+    @PatchMapping("/bulk")
+    public ResponseEntity<BulkResponse> updateBlogs(
+            @RequestBody List<BlogBulkUpdateRequest> requests,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(blogBulkService.updateBlogs(requests, user.getUserId()));
+    }
+
+
+    // POST rather than DELETE, some clients and proxies drop DELETE bodies
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkResponse> deleteBlogs(
+            @RequestBody List<String> ids,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(blogBulkService.deleteBlogs(ids, user.getUserId()));
     }
 
 
     @GetMapping
     public ResponseEntity<Page<BlogResponse>> getAllBlogs(  // pagination is added
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        // Only a revalidation runs the projection query first, a plain GET validates the page it reads anyway
+        boolean conditional = isConditional(webRequest);
+        if (conditional && notModified(webRequest, blogService.getFeedValidator("blogs", page, size))) {
+            return null;
+        }
+        BlogService.ValidatedPage<BlogResponse> blogs = blogService.getValidatedBlogs(page, size);
+        return feedResponse(conditional ? null : blogs.validator()).body(blogs.page());
+    }
+
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<BlogResponse>> getBlogsAfter(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        if (notModified(webRequest, blogService.getFeedValidatorAfter("blogs", cursor, size))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(blogService.getBlogsAfter(cursor, size));
+    }
+
+
+    @GetMapping("/summaries")
+    public ResponseEntity<Page<BlogSummaryResponse>> getBlogSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        boolean conditional = isConditional(webRequest);
+        if (conditional && notModified(webRequest, blogService.getFeedValidator("summaries", page, size))) {
+            return null;
+        }
+        BlogService.ValidatedPage<BlogSummaryResponse> summaries = blogService.getValidatedSummaries(page, size);
+        return feedResponse(conditional ? null : summaries.validator()).body(summaries.page());
+    }
+
+
+    @GetMapping(value = "/summaries", params = "cursor")
+    public ResponseEntity<CursorPage<BlogSummaryResponse>> getBlogSummariesAfter(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        if (notModified(webRequest, blogService.getFeedValidatorAfter("summaries", cursor, size))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(blogService.getBlogSummariesAfter(cursor, size));
+    }
+
+
+    // Served from memory without touching Mongo, see TrendingBlogs
+    @GetMapping("/trending")
+    public ResponseEntity<List<BlogSummaryResponse>> getTrendingBlogs(
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingBlogs.top(limit));
+    }
+
+
+    @GetMapping("/search")
+    public ResponseEntity<List<BlogSearchHit>> searchBlogs(
+            @RequestParam String q,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(blogService.getAllBlogs(page, size));
+        return ResponseEntity.ok(blogSearchService.search(q, page, size));
+    }
+
+
+    // NDJSON, oldest first; resume with the createdAt and id of the last line received
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBlogs(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant afterCreatedAt,
+            @RequestParam(required = false) String afterId,
+            @RequestParam(required = false) Integer batchSize) {
+        BlogExportService.ExportRequest export = blogExportService.prepare(userId, afterCreatedAt, afterId, batchSize);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> blogExportService.export(export, out));
     }
 
 
     @GetMapping("/{id}")
-    public ResponseEntity<BlogResponse> getBlogById(@PathVariable String id) {
-        return ResponseEntity.ok(blogService.getBlogById(id));
+    public ResponseEntity<byte[]> getBlogById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        ContentValidator validator = blogService.getBlogValidator(id);
+        // Counted once the blog is known to exist, a revalidation that ends in 304 is a view too
+        blogViewCounter.record(id);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        if (notModified(webRequest, gzip ? validator.weak() : validator)) {
+            return null;
+        }
+
+        // Cached bytes are written as they are, Tomcat does not compress a body that already has a Content-Encoding
+        BlogPayloadCache.BlogPayload payload = blogService.getBlogPayload(id, validator.getEtag());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip && payload.gzip() != null) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+        return response.body(payload.json());
+    }
+
+
+    // Approximate: flushed views plus the ones this instance has not flushed yet, so never cached or validated
+    @GetMapping("/{id}/views")
+    public ResponseEntity<BlogViewsResponse> getBlogViews(@PathVariable String id) {
+        long views = blogService.getBlogViews(id) + blogViewCounter.pending(id);
+        return ResponseEntity.ok(new BlogViewsResponse(id, views));
     }
 
 
     @PatchMapping("/{id}")
     public ResponseEntity<BlogResponse> updateBlog(
             @PathVariable String id,
-            @RequestBody BlogRequest request,
-            @AuthenticationPrincipal String email) {  
-        String userId = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
-
-        return ResponseEntity.ok(blogService.updateBlog(id, request, userId));
+            @Valid @RequestBody BlogRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(blogService.updateBlog(id, request, user.getUserId()));
     }
 
 
@@ -68,19 +217,48 @@ public class BlogController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Map<String, String>> deleteBlog(
             @PathVariable String id,
-            @AuthenticationPrincipal String email) {
-
-        String userId = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
+            @AuthenticationPrincipal AuthenticatedUser user) {
 
-        blogService.deleteBlog(id, userId);
+        blogService.deleteBlog(id, user.getUserId());
 
         Map<String, String> response = new HashMap<>();
         response.put("message", "Blog deleted successfully");
         return ResponseEntity.ok(response);
     }
 
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            boolean refused = parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?");
+            if (parts[0].trim().equalsIgnoreCase("gzip") && !refused) {
+                return true;
+            }
+        }
+        return false;
+    }
 
+    // Sets ETag and Last-Modified on the response; returning null after a match lets Spring send the 304
+    private static boolean notModified(WebRequest webRequest, ContentValidator validator) {
+        return webRequest.checkNotModified(validator.getEtag(), validator.lastModifiedMillis());
+    }
 
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    // A revalidation already got its validators from checkNotModified, they are only added here for a plain GET
+    private static ResponseEntity.BodyBuilder feedResponse(ContentValidator validator) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(REVALIDATE);
+        if (validator != null) {
+            response.eTag(validator.getEtag());
+            if (validator.getLastModified() != null) {
+                response.lastModified(validator.getLastModified());
+            }
+        }
+        return response;
+    }
 }
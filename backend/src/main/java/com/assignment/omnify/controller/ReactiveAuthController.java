@@ -0,0 +1,40 @@
+package com.assignment.omnify.controller;
+
+import com.assignment.omnify.dto.LoginRequest;
+import com.assignment.omnify.dto.SignupRequest;
+import com.assignment.omnify.dto.TokenResponse;
+import com.assignment.omnify.service.AuthService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// AuthService does its user lookups on the blocking driver, so they are moved off the event loop
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+@RequestMapping("/api/auth")
+public class ReactiveAuthController {
+
+    private final AuthService authService;
+
+    @PostMapping("/signup")
+    public Mono<ResponseEntity<TokenResponse>> signup(@Valid @RequestBody SignupRequest request) {
+        return Mono.fromCallable(() -> authService.signup(request))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(Mono::fromFuture)
+                .map(ResponseEntity::ok);
+    }
+
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<TokenResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return Mono.fromCallable(() -> authService.login(request))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(Mono::fromFuture)
+                .map(ResponseEntity::ok);
+    }
+}
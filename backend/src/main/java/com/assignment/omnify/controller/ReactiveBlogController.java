@@ -0,0 +1,103 @@
+package com.assignment.omnify.controller;
+
+import com.assignment.omnify.config.AuthenticatedUser;
+import com.assignment.omnify.dto.BlogRequest;
+import com.assignment.omnify.dto.BlogResponse;
+import com.assignment.omnify.dto.BlogSummaryResponse;
+import com.assignment.omnify.dto.CursorPage;
+import com.assignment.omnify.service.ReactiveBlogService;
+import com.assignment.omnify.service.TrendingBlogs;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/blogs")
+@RequiredArgsConstructor
+public class ReactiveBlogController {
+
+    private final ReactiveBlogService blogService;
+
+    private final TrendingBlogs trendingBlogs;
+
+    @PostMapping
+    public Mono<ResponseEntity<BlogResponse>> createBlog(
+            @Valid @RequestBody BlogRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return blogService.createBlog(request, user.getUserId()).map(ResponseEntity::ok);
+    }
+
+
+    @GetMapping
+    public Mono<ResponseEntity<Page<BlogResponse>>> getAllBlogs(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return blogService.getAllBlogs(page, size).map(ResponseEntity::ok);
+    }
+
+
+    @GetMapping(params = "cursor")
+    public Mono<ResponseEntity<CursorPage<BlogResponse>>> getBlogsAfter(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return blogService.getBlogsAfter(cursor, size).map(ResponseEntity::ok);
+    }
+
+
+    @GetMapping("/summaries")
+    public Mono<ResponseEntity<Page<BlogSummaryResponse>>> getBlogSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return blogService.getBlogSummaries(page, size).map(ResponseEntity::ok);
+    }
+
+
+    @GetMapping(value = "/summaries", params = "cursor")
+    public Mono<ResponseEntity<CursorPage<BlogSummaryResponse>>> getBlogSummariesAfter(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return blogService.getBlogSummariesAfter(cursor, size).map(ResponseEntity::ok);
+    }
+
+
+    // Read from memory, nothing here blocks
+    @GetMapping("/trending")
+    public Mono<ResponseEntity<List<BlogSummaryResponse>>> getTrendingBlogs(
+            @RequestParam(defaultValue = "10") int limit) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(trendingBlogs.top(limit)));
+    }
+
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<BlogResponse>> getBlogById(@PathVariable String id) {
+        return blogService.getBlogById(id).map(ResponseEntity::ok);
+    }
+
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<BlogResponse>> updateBlog(
+            @PathVariable String id,
+            @Valid @RequestBody BlogRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return blogService.updateBlog(id, request, user.getUserId()).map(ResponseEntity::ok);
+    }
+
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Map<String, String>>> deleteBlog(
+            @PathVariable String id,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return blogService.deleteBlog(id, user.getUserId())
+                .thenReturn(ResponseEntity.ok(Map.of("message", "Blog deleted successfully")));
+    }
+}
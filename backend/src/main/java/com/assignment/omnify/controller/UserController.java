@@ -0,0 +1,27 @@
+package com.assignment.omnify.controller;
+
+import com.assignment.omnify.dto.BlogSummaryResponse;
+import com.assignment.omnify.dto.CursorPage;
+import com.assignment.omnify.service.BlogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final BlogService blogService;
+
+    // Keyset paged, newest first; pass the nextCursor of the previous page to continue
+    @GetMapping("/{id}/blogs")
+    public ResponseEntity<CursorPage<BlogSummaryResponse>> getUserBlogs(
+            @PathVariable String id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(blogService.getUserBlogsAfter(id, cursor, size));
+    }
+}
@@ -0,0 +1,12 @@
+package com.assignment.omnify.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BlogBulkUpdateRequest extends BlogRequest {
+    private String id;
+}
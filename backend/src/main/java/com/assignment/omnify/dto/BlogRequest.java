@@ -1,5 +1,6 @@
 package com.assignment.omnify.dto;
 
+import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -8,7 +9,14 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 public class BlogRequest {
+
+    // Bulk requests are checked against it item by item in BlogBulkService
+    public static final int MAX_TITLE_LENGTH = 200;
+    public static final int MAX_CONTENT_LENGTH = 100_000;
+
+    @Size(max = MAX_TITLE_LENGTH)
     private String title;
 
+    @Size(max = MAX_CONTENT_LENGTH)
     private String content;
 }
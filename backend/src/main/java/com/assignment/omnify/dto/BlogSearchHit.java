@@ -0,0 +1,33 @@
+package com.assignment.omnify.dto;
+
+import com.assignment.omnify.repository.BlogSummaryView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogSearchHit {
+    private String id;
+    private String title;
+    private String authorName;
+    private String excerpt;
+    private Instant createdAt;
+    private float score;
+
+    public static BlogSearchHit fromView(BlogSummaryView blog, String authorName, float score) {
+        return new BlogSearchHit(
+                blog.getId(),
+                blog.getTitle(),
+                authorName,
+                blog.getExcerpt(),
+                blog.getCreatedAt(),
+                score
+        );
+    }
+}
@@ -0,0 +1,32 @@
+package com.assignment.omnify.dto;
+
+import com.assignment.omnify.repository.BlogSummaryView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogSummaryResponse {
+    private String id;
+    private String title;
+    private String authorName;
+    private String excerpt;
+    private Instant createdAt;
+
+    public static BlogSummaryResponse fromView(BlogSummaryView blog, String authorName) {
+        return new BlogSummaryResponse(
+                blog.getId(),
+                blog.getTitle(),
+                authorName,
+                blog.getExcerpt(),
+                blog.getCreatedAt()
+        );
+    }
+
+}
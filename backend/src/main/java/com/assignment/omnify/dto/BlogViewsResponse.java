@@ -0,0 +1,15 @@
+package com.assignment.omnify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogViewsResponse {
+    private String id;
+    private long views;
+}
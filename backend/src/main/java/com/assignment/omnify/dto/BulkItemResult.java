@@ -0,0 +1,18 @@
+package com.assignment.omnify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// status is the HTTP status the item would have got as a single request
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult {
+    private int index;
+    private String id;
+    private int status;
+    private String message;
+}
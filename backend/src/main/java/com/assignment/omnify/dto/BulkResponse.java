@@ -0,0 +1,23 @@
+package com.assignment.omnify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResponse {
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResult> items;
+
+    public static BulkResponse of(List<BulkItemResult> items) {
+        int succeeded = (int) items.stream().filter(item -> item.getStatus() < 300).count();
+        return new BulkResponse(succeeded, items.size() - succeeded, items);
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -14,6 +15,8 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "blogs")
+@CompoundIndex(name = "userId_createdAt_id", def = "{ 'userId': 1, 'createdAt': -1, '_id': -1 }")
+@CompoundIndex(name = "createdAt_id", def = "{ 'createdAt': -1, '_id': -1 }")
 public class Blog {
 
     @Id
@@ -23,10 +26,39 @@ public class Blog {
 
     private String title;
 
+    // Null when the blog was read with only its compressed form, getContent() fills it in
     private String content;
 
+    // The body in ContentCodec form, stored instead of content once it is long enough to be worth compressing
+    private byte[] contentZ;
+
+    // Bounded prefix of content, computed on write so the feed summary never loads the body
+    private String excerpt;
+
+    private String authorName;
+
+    // updatedAt of the author (epoch millis) that authorName was copied from
+    private Long authorVersion;
+
     private Instant createdAt;
 
     private Instant updatedAt;
 
+    // Only ever changed with $inc by BlogViewCounter, never written back from a loaded document
+    private long views;
+
+    // Inflated on first use, so loads that never show the body never pay for it
+    public String getContent() {
+        if (content == null && contentZ != null) {
+            content = ContentCodec.decode(contentZ);
+        }
+        return content;
+    }
+
+    // The compressed form no longer matches and is dropped, BlogContentCompressor compresses again on write
+    public void setContent(String content) {
+        this.content = content;
+        this.contentZ = null;
+    }
+
 }
@@ -0,0 +1,81 @@
+package com.assignment.omnify.model;
+
+import com.assignment.omnify.dto.BlogRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stored form of a compressed blog body: a format byte, the length of the UTF-8 text as a 4-byte int, then the
+ * compressed text. The format byte lets another codec be added without touching documents already written, and a
+ * format this version does not know fails the read instead of showing garbage.
+ */
+public final class ContentCodec {
+
+    static final byte DEFLATE = 1;
+
+    private static final int HEADER_LENGTH = 5;
+
+    // Above anything a valid body encodes to, a char is at most 3 bytes of UTF-8
+    static final int MAX_LENGTH = BlogRequest.MAX_CONTENT_LENGTH * 4;
+
+    private ContentCodec() {
+    }
+
+    public static byte[] encode(byte[] utf8) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(HEADER_LENGTH + utf8.length / 2);
+            out.write(DEFLATE);
+            out.writeBytes(ByteBuffer.allocate(4).putInt(utf8.length).array());
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decode(byte[] stored) {
+        if (stored.length < HEADER_LENGTH || stored[0] != DEFLATE) {
+            throw new IllegalStateException("Unknown blog content format " + (stored.length > 0 ? stored[0] : "(empty)"));
+        }
+
+        int length = ByteBuffer.wrap(stored, 1, 4).getInt();
+        // Checked before it sizes the buffer, a corrupt header must not ask for gigabytes
+        if (length < 0 || length > MAX_LENGTH) {
+            throw new IllegalStateException("Compressed blog content claims an impossible length of " + length);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, HEADER_LENGTH, stored.length - HEADER_LENGTH);
+            // One spare byte, so text longer than the header says shows up instead of being cut off
+            byte[] utf8 = new byte[length + 1];
+            int read = 0;
+            while (!inflater.finished() && read <= length) {
+                int n = inflater.inflate(utf8, read, utf8.length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (!inflater.finished() || read != length) {
+                throw new IllegalStateException("Compressed blog content does not match its length of " + length);
+            }
+            return new String(utf8, 0, length, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed blog content is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -19,6 +21,7 @@ public class User {
     @Id
     private String id;
 
+    @Indexed(unique = true)
     private String email;
 
     private String name;
@@ -28,4 +31,8 @@ public class User {
     private Instant createdAt;
 
     private Instant updatedAt;
+
+    // The name as last read or saved, null for a user that was never stored; lets a save tell whether it renamed
+    @Transient
+    private String storedName;
 }
@@ -0,0 +1,93 @@
+package com.assignment.omnify.repository;
+
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.model.ContentCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stores blog bodies of at least min-size bytes compressed, in contentZ instead of content, see ContentCodec.
+ * Saves and inserts go through onBeforeSave, targeted updates through set. A body that does not shrink by at least
+ * min-saving is stored as plain text. Reads need nothing from here, Blog.getContent() inflates on first use, and
+ * documents written before compression existed keep reading as they are until ContentCompressionBackfill rewrites them.
+ */
+@Component
+public class BlogContentCompressor extends AbstractMongoEventListener<Blog> {
+
+    private final boolean enabled;
+    private final long minSize;
+    private final double minSaving;
+
+    private final Counter compressed;
+    private final Counter savedBytes;
+
+    public BlogContentCompressor(@Value("${omnify.content.compression.enabled:true}") boolean enabled,
+                                 @Value("${omnify.content.compression.min-size:4KB}") DataSize minSize,
+                                 @Value("${omnify.content.compression.min-saving:0.2}") double minSaving,
+                                 MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.minSize = minSize.toBytes();
+        this.minSaving = minSaving;
+
+        this.compressed = Counter.builder("omnify.blog.content.compressed").register(meterRegistry);
+        this.savedBytes = Counter.builder("omnify.blog.content.saved").baseUnit("bytes").register(meterRegistry);
+    }
+
+    // Null when the body is better stored as it is
+    public byte[] compress(String content) {
+        // A UTF-8 char is at most 3 bytes, most short bodies are turned away without encoding them
+        if (!enabled || content == null || (long) content.length() * 3 < minSize) {
+            return null;
+        }
+
+        byte[] utf8 = content.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length < minSize) {
+            return null;
+        }
+        byte[] stored = ContentCodec.encode(utf8);
+        if (stored.length > utf8.length * (1 - minSaving)) {
+            return null;
+        }
+
+        compressed.increment();
+        savedBytes.increment(utf8.length - stored.length);
+        return stored;
+    }
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<Blog> event) {
+        Document document = event.getDocument();
+        if (document == null || !(document.get("content") instanceof String content)) {
+            return;
+        }
+
+        // A compressed form still set on the blog was read with it and matches, Blog.setContent drops it otherwise
+        byte[] stored = event.getSource().getContentZ() != null ? event.getSource().getContentZ() : compress(content);
+        if (stored != null) {
+            document.put("contentZ", new Binary(stored));
+            document.remove("content");
+        } else {
+            document.remove("contentZ");
+        }
+    }
+
+    // The body of a targeted update, unsetting whichever form it replaces
+    public void set(Update update, String content) {
+        byte[] stored = compress(content);
+        if (stored != null) {
+            update.set("contentZ", stored).unset("content");
+        } else {
+            update.set("content", content).unset("contentZ");
+        }
+    }
+}
@@ -1,10 +1,49 @@
 package com.assignment.omnify.repository;
 
 import com.assignment.omnify.model.Blog;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BlogRepository extends MongoRepository<Blog, String> {
-   List<Blog> findByUserId(String userId);
+public interface BlogRepository extends MongoRepository<Blog, String>, BlogRepositoryCustom {
+   // One author's blogs a page at a time, pageable must sort by createdAt desc, _id desc to use userId_createdAt_id
+   Slice<BlogSummaryView> findByUserId(String userId, Pageable pageable);
+
+   @Query(value = "{ userId: ?0, $or: [ { createdAt: { $lt: ?1 } }, { createdAt: ?1, _id: { $lt: ?2 } } ] }",
+           fields = "{ userId: 1, title: 1, authorName: 1, excerpt: 1, createdAt: 1, updatedAt: 1, authorVersion: 1 }")
+   Slice<BlogSummaryView> findByUserIdAfter(String userId, Instant createdAt, ObjectId id, Pageable pageable);
+
+   Slice<Blog> findAllBy(Pageable pageable);
+
+   // Keyset page after (createdAt, _id), pageable must sort by createdAt desc, _id desc
+   @Query("{ $or: [ { createdAt: { $lt: ?0 } }, { createdAt: ?0, _id: { $lt: ?1 } } ] }")
+   Slice<Blog> findAllAfter(Instant createdAt, ObjectId id, Pageable pageable);
+
+   Page<BlogSummaryView> findSummariesBy(Pageable pageable);
+
+   Slice<BlogSummaryView> findSummarySliceBy(Pageable pageable);
+
+   @Query(value = "{ $or: [ { createdAt: { $lt: ?0 } }, { createdAt: ?0, _id: { $lt: ?1 } } ] }",
+           fields = "{ userId: 1, title: 1, authorName: 1, excerpt: 1, createdAt: 1, updatedAt: 1, authorVersion: 1 }")
+   Slice<BlogSummaryView> findSummariesAfter(Instant createdAt, ObjectId id, Pageable pageable);
+
+   List<BlogSummaryView> findSummariesByIdIn(Collection<String> ids);
+
+   Optional<BlogViewsView> findViewsById(String id);
+
+   Page<BlogValidatorView> findValidatorsBy(Pageable pageable);
+
+   Slice<BlogValidatorView> findValidatorSliceBy(Pageable pageable);
+
+   @Query(value = "{ $or: [ { createdAt: { $lt: ?0 } }, { createdAt: ?0, _id: { $lt: ?1 } } ] }",
+           fields = "{ createdAt: 1, updatedAt: 1, authorVersion: 1 }")
+   Slice<BlogValidatorView> findValidatorsAfter(Instant createdAt, ObjectId id, Pageable pageable);
 }
@@ -0,0 +1,54 @@
+package com.assignment.omnify.repository;
+
+import com.assignment.omnify.model.Blog;
+
+import org.bson.types.ObjectId;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface BlogRepositoryCustom {
+
+    // Write errors by operation index, and the ids that were gone or no longer the user's when the write ran
+    record BulkDelete(Map<Integer, String> failures, Set<String> missing) {
+    }
+
+    long updateAuthorName(String userId, String authorName, long authorVersion);
+
+    List<Blog> findWithoutAuthorName(String afterId, int limit);
+
+    int setAuthorNames(Map<String, Blog> blogsById);
+
+    List<Blog> findWithoutExcerpt(String afterId, int limit);
+
+    int setExcerpts(Map<String, String> excerptsById);
+
+    List<Blog> findUncompressed(String afterId, long minBytes, int limit);
+
+    int setCompressedContents(List<Blog> blogs);
+
+    List<Blog> findOwners(Collection<String> ids);
+
+    Map<Integer, String> insertAll(List<Blog> blogs);
+
+    Map<Integer, String> updateAllOwned(String userId, List<Blog> changes);
+
+    // Null when the blog is gone or no longer owned by userId, otherwise the blog as written
+    Blog updateOwned(String userId, Blog change);
+
+    Set<String> incrementViews(Map<String, Long> viewsById);
+
+    BulkDelete deleteAllOwned(String userId, List<String> ids);
+
+    Stream<Blog> streamForSearchIndex(Instant modifiedAfter, int batchSize);
+
+    Stream<Blog> streamForTrending(Instant createdAfter, int batchSize);
+
+    List<Blog> findForTrending(Collection<String> ids, Instant createdAfter);
+
+    Stream<Blog> streamForExport(String userId, Instant afterCreatedAt, ObjectId afterId, int batchSize);
+}
@@ -0,0 +1,337 @@
+package com.assignment.omnify.repository;
+
+import com.assignment.omnify.model.Blog;
+import lombok.RequiredArgsConstructor;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+public class BlogRepositoryImpl implements BlogRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+    private final BlogContentCompressor contentCompressor;
+
+    @Override
+    public long updateAuthorName(String userId, String authorName, long authorVersion) {
+        Query query = new Query(where("userId").is(userId)
+                .and("authorName").ne(authorName)
+                .and("authorVersion").not().gt(authorVersion));
+
+        Update update = new Update()
+                .set("authorName", authorName)
+                .set("authorVersion", authorVersion);
+
+        return mongoTemplate.updateMulti(query, update, Blog.class).getModifiedCount();
+    }
+
+    @Override
+    public List<Blog> findWithoutAuthorName(String afterId, int limit) {
+        Criteria criteria = where("authorName").exists(false);
+        if (afterId != null) {
+            criteria = criteria.and("_id").gt(afterId);
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(limit);
+        query.fields().include("userId");
+
+        return mongoTemplate.find(query, Blog.class);
+    }
+
+    // Unordered bulk write, a blog the fan-out job already filled in is left alone
+    @Override
+    public int setAuthorNames(Map<String, Blog> blogsById) {
+        if (blogsById.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Blog.class);
+        blogsById.forEach((id, blog) -> bulk.updateOne(
+                new Query(where("_id").is(id).and("authorName").exists(false)),
+                new Update()
+                        .set("authorName", blog.getAuthorName())
+                        .set("authorVersion", blog.getAuthorVersion())));
+
+        return bulk.execute().getModifiedCount();
+    }
+
+    @Override
+    public List<Blog> findWithoutExcerpt(String afterId, int limit) {
+        Criteria criteria = where("excerpt").exists(false);
+        if (afterId != null) {
+            criteria = criteria.and("_id").gt(afterId);
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(limit);
+        query.fields().include("content", "contentZ");
+
+        return mongoTemplate.find(query, Blog.class);
+    }
+
+    @Override
+    public int setExcerpts(Map<String, String> excerptsById) {
+        if (excerptsById.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Blog.class);
+        excerptsById.forEach((id, excerpt) -> bulk.updateOne(
+                new Query(where("_id").is(id).and("excerpt").exists(false)),
+                new Update().set("excerpt", excerpt)));
+
+        return bulk.execute().getModifiedCount();
+    }
+
+    // Just enough of each blog to check ownership in a bulk request
+    @Override
+    public List<Blog> findOwners(Collection<String> ids) {
+        Query query = new Query(where("_id").in(ids));
+        query.fields().include("userId", "authorName");
+
+        return mongoTemplate.find(query, Blog.class);
+    }
+
+    // The maps returned by the bulk writes hold the error message of each failed operation by its index
+    @Override
+    public Map<Integer, String> insertAll(List<Blog> blogs) {
+        if (blogs.isEmpty()) {
+            return Map.of();
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Blog.class);
+        bulk.insert(blogs);
+        return executeUnordered(bulk);
+    }
+
+    // Null fields are left as they are; the userId filter guards against an ownership change since the check
+    @Override
+    public Map<Integer, String> updateAllOwned(String userId, List<Blog> changes) {
+        if (changes.isEmpty()) {
+            return Map.of();
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Blog.class);
+        for (Blog change : changes) {
+            bulk.updateOne(ownedBy(userId, change.getId()), changesOf(change, contentCompressor));
+        }
+        return executeUnordered(bulk);
+    }
+
+    @Override
+    public Blog updateOwned(String userId, Blog change) {
+        return mongoTemplate.findAndModify(ownedBy(userId, change.getId()), changesOf(change, contentCompressor),
+                FindAndModifyOptions.options().returnNew(true), Blog.class);
+    }
+
+    static Query ownedBy(String userId, String id) {
+        return new Query(where("_id").is(id).and("userId").is(userId));
+    }
+
+    // Only the fields a change carries are set, everything else on the document is left as it is
+    static Update changesOf(Blog change, BlogContentCompressor contentCompressor) {
+        Update update = new Update().set("updatedAt", change.getUpdatedAt());
+        if (change.getTitle() != null) {
+            update.set("title", change.getTitle());
+        }
+        if (change.getContent() != null) {
+            contentCompressor.set(update, change.getContent());
+            update.set("excerpt", change.getExcerpt());
+        }
+        if (change.getAuthorName() != null) {
+            update.set("authorName", change.getAuthorName()).set("authorVersion", change.getAuthorVersion());
+        }
+        return update;
+    }
+
+    // Bodies still stored as plain text of at least minBytes, with the updatedAt they were read at
+    @Override
+    public List<Blog> findUncompressed(String afterId, long minBytes, int limit) {
+        Criteria criteria = where("content").type(JsonSchemaObject.Type.STRING)
+                .andOperator(Criteria.expr(ComparisonOperators.valueOf(StringOperators.valueOf("content").length())
+                        .greaterThanEqualToValue(minBytes)));
+        if (afterId != null) {
+            criteria = criteria.and("_id").gt(afterId);
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(limit);
+        query.fields().include("content", "updatedAt");
+
+        return mongoTemplate.find(query, Blog.class);
+    }
+
+    // Each blog carries its compressed body; one edited since it was read is left for the next run
+    @Override
+    public int setCompressedContents(List<Blog> blogs) {
+        if (blogs.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Blog.class);
+        for (Blog blog : blogs) {
+            bulk.updateOne(
+                    new Query(where("_id").is(blog.getId())
+                            .and("content").type(JsonSchemaObject.Type.STRING)
+                            .and("updatedAt").is(blog.getUpdatedAt())),
+                    new Update().set("contentZ", blog.getContentZ()).unset("content"));
+        }
+
+        return bulk.execute().getModifiedCount();
+    }
+
+    // Returns the ids whose increment failed, so their views can be retried instead of lost
+    @Override
+    public Set<String> incrementViews(Map<String, Long> viewsById) {
+        if (viewsById.isEmpty()) {
+            return Set.of();
+        }
+
+        List<String> ids = new ArrayList<>(viewsById.keySet());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Blog.class);
+        for (String id : ids) {
+            bulk.updateOne(new Query(where("_id").is(id)), new Update().inc("views", viewsById.get(id)));
+        }
+
+        Set<String> failed = new HashSet<>();
+        executeUnordered(bulk).keySet().forEach(index -> failed.add(ids.get(index)));
+        return failed;
+    }
+
+    // A bulk result only counts deletes, so the blogs are first claimed with a marker and then deleted by it;
+    // when fewer were claimed than asked, the marker tells which ones went missing since the ownership check
+    @Override
+    public BulkDelete deleteAllOwned(String userId, List<String> ids) {
+        if (ids.isEmpty()) {
+            return new BulkDelete(Map.of(), Set.of());
+        }
+
+        String claim = new ObjectId().toHexString();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Blog.class);
+        for (String id : ids) {
+            bulk.updateOne(ownedBy(userId, id), new Update().set("deleteClaim", claim));
+        }
+
+        Map<Integer, String> failures = new HashMap<>();
+        long claimed;
+        try {
+            claimed = bulk.execute().getMatchedCount();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getMessage());
+            }
+            claimed = e.getResult().getMatchedCount();
+        }
+
+        Set<String> missing = new HashSet<>();
+        if (claimed < ids.size() - failures.size()) {
+            Query query = new Query(where("deleteClaim").is(claim));
+            query.fields().include("_id");
+            Set<String> found = new HashSet<>();
+            mongoTemplate.find(query, Blog.class).forEach(blog -> found.add(blog.getId()));
+            for (int i = 0; i < ids.size(); i++) {
+                if (!failures.containsKey(i) && !found.contains(ids.get(i))) {
+                    missing.add(ids.get(i));
+                }
+            }
+        }
+
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Blog.class)
+                .remove(new Query(where("deleteClaim").is(claim)))
+                .execute();
+        return new BulkDelete(failures, missing);
+    }
+
+    private Map<Integer, String> executeUnordered(BulkOperations bulk) {
+        try {
+            bulk.execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            Map<Integer, String> failures = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getMessage());
+            }
+            return failures;
+        }
+    }
+
+    // Title and content of every blog, or only of those created or updated at or after modifiedAfter
+    @Override
+    public Stream<Blog> streamForSearchIndex(Instant modifiedAfter, int batchSize) {
+        Criteria criteria = new Criteria();
+        if (modifiedAfter != null) {
+            criteria = criteria.orOperator(
+                    where("createdAt").gte(modifiedAfter),
+                    where("updatedAt").gte(modifiedAfter));
+        }
+
+        Query query = new Query(criteria).cursorBatchSize(batchSize);
+        query.fields().include("title", "content", "contentZ", "createdAt", "updatedAt");
+
+        return mongoTemplate.stream(query, Blog.class);
+    }
+
+    // What the trending ranking shows and scores of every blog created at or after createdAfter
+    @Override
+    public Stream<Blog> streamForTrending(Instant createdAfter, int batchSize) {
+        Query query = new Query(where("createdAt").gte(createdAfter)).cursorBatchSize(batchSize);
+        query.fields().include("userId", "title", "authorName", "excerpt", "createdAt", "views");
+
+        return mongoTemplate.stream(query, Blog.class);
+    }
+
+    // The same fields for the blogs among ids created at or after createdAfter
+    @Override
+    public List<Blog> findForTrending(Collection<String> ids, Instant createdAfter) {
+        Query query = new Query(where("_id").in(ids).and("createdAt").gte(createdAfter));
+        query.fields().include("userId", "title", "authorName", "excerpt", "createdAt", "views");
+
+        return mongoTemplate.find(query, Blog.class);
+    }
+
+    // Oldest first over a live cursor; the caller has to close the stream
+    @Override
+    public Stream<Blog> streamForExport(String userId, Instant afterCreatedAt, ObjectId afterId, int batchSize) {
+        Criteria criteria = new Criteria();
+        if (userId != null) {
+            criteria = criteria.and("userId").is(userId);
+        }
+        if (afterCreatedAt != null) {
+            criteria = criteria.orOperator(
+                    where("createdAt").gt(afterCreatedAt),
+                    where("createdAt").is(afterCreatedAt).and("_id").gt(afterId));
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "createdAt", "_id"))
+                .cursorBatchSize(batchSize);
+
+        return mongoTemplate.stream(query, Blog.class);
+    }
+}
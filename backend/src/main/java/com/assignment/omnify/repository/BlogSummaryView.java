@@ -0,0 +1,14 @@
+package com.assignment.omnify.repository;
+
+// Closed projection, only these fields are read from the blogs collection; the validator fields let a page
+// of summaries be validated without a second query
+public interface BlogSummaryView extends BlogValidatorView {
+
+    String getUserId();
+
+    String getTitle();
+
+    String getAuthorName();
+
+    String getExcerpt();
+}
@@ -0,0 +1,15 @@
+package com.assignment.omnify.repository;
+
+import java.time.Instant;
+
+// Closed projection with only what an ETag or Last-Modified is derived from, never the content
+public interface BlogValidatorView {
+
+    String getId();
+
+    Instant getCreatedAt();
+
+    Instant getUpdatedAt();
+
+    Long getAuthorVersion();
+}
@@ -0,0 +1,9 @@
+package com.assignment.omnify.repository;
+
+// Closed projection, the view count as last flushed and nothing else
+public interface BlogViewsView {
+
+    String getId();
+
+    Long getViews();
+}
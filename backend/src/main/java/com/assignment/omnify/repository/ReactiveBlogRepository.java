@@ -0,0 +1,24 @@
+package com.assignment.omnify.repository;
+
+import com.assignment.omnify.model.Blog;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+public interface ReactiveBlogRepository extends ReactiveMongoRepository<Blog, String>, ReactiveBlogRepositoryCustom {
+
+   Flux<Blog> findAllBy(Pageable pageable);
+
+   @Query("{ $or: [ { createdAt: { $lt: ?0 } }, { createdAt: ?0, _id: { $lt: ?1 } } ] }")
+   Flux<Blog> findAllAfter(Instant createdAt, ObjectId id, Pageable pageable);
+
+   Flux<BlogSummaryView> findSummariesBy(Pageable pageable);
+
+   @Query(value = "{ $or: [ { createdAt: { $lt: ?0 } }, { createdAt: ?0, _id: { $lt: ?1 } } ] }",
+           fields = "{ userId: 1, title: 1, authorName: 1, excerpt: 1, createdAt: 1, updatedAt: 1, authorVersion: 1 }")
+   Flux<BlogSummaryView> findSummariesAfter(Instant createdAt, ObjectId id, Pageable pageable);
+}
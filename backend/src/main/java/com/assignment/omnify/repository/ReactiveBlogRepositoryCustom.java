@@ -0,0 +1,10 @@
+package com.assignment.omnify.repository;
+
+import com.assignment.omnify.model.Blog;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBlogRepositoryCustom {
+
+    // Empty when the blog is gone or no longer owned by userId, otherwise the blog as written
+    Mono<Blog> updateOwned(String userId, Blog change);
+}
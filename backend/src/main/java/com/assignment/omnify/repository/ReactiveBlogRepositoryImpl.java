@@ -0,0 +1,21 @@
+package com.assignment.omnify.repository;
+
+import com.assignment.omnify.model.Blog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ReactiveBlogRepositoryImpl implements ReactiveBlogRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final BlogContentCompressor contentCompressor;
+
+    // Same $set as the blocking repository writes
+    @Override
+    public Mono<Blog> updateOwned(String userId, Blog change) {
+        return mongoTemplate.findAndModify(BlogRepositoryImpl.ownedBy(userId, change.getId()),
+                BlogRepositoryImpl.changesOf(change, contentCompressor), FindAndModifyOptions.options().returnNew(true), Blog.class);
+    }
+}
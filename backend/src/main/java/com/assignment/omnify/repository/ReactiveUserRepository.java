@@ -0,0 +1,7 @@
+package com.assignment.omnify.repository;
+
+import com.assignment.omnify.model.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+}
@@ -2,6 +2,8 @@ package com.assignment.omnify.repository;
 
 import com.assignment.omnify.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 
 import java.util.Optional;
 
@@ -9,4 +11,9 @@ public interface UserRepository extends MongoRepository<User,String> {
 
     Optional<User> findByEmail(String email);
     Boolean existsByEmail(String email);
+
+    // Only while the stored hash is still the one that was checked, so a password changed meanwhile is kept
+    @Query("{ '_id': ?0, 'password': ?1 }")
+    @Update("{ '$set': { 'password': ?2 } }")
+    long updatePassword(String id, String currentHash, String newHash);
 }
@@ -0,0 +1,175 @@
+package com.assignment.omnify.search;
+
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.repository.BlogRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Search index over blog titles and content, owned by this instance.
+ * At startup it loads the last snapshot and only reads blogs changed since its watermark from Mongo;
+ * without a usable snapshot it is built from a full streaming scan. Writes made through this instance
+ * are applied as they happen, and the snapshot is rewritten periodically and on shutdown when it changed.
+ * Blogs deleted while the application was down stay in the index until a search hits them, or until a rebuild.
+ */
+@Slf4j
+@Component
+public class BlogSearchIndex {
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile boolean ready;
+
+    private final BlogRepository blogRepository;
+    private final boolean enabled;
+    private final Path snapshotPath;
+    private final int batchSize;
+
+    public BlogSearchIndex(BlogRepository blogRepository,
+                           @Value("${omnify.search.enabled:true}") boolean enabled,
+                           @Value("${omnify.search.snapshot.path:data/search-index.bin}") Path snapshotPath,
+                           @Value("${omnify.search.build.batch-size:500}") int batchSize,
+                           MeterRegistry meterRegistry) {
+        this.blogRepository = blogRepository;
+        this.enabled = enabled;
+        this.snapshotPath = snapshotPath;
+        this.batchSize = batchSize;
+
+        Gauge.builder("omnify.search.index.documents", index, i -> i.stats().documents()).register(meterRegistry);
+        Gauge.builder("omnify.search.index.terms", index, i -> i.stats().terms()).register(meterRegistry);
+        Gauge.builder("omnify.search.index.postings", index, i -> i.stats().postingBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            load();
+        }
+    }
+
+    public void load() {
+        long start = System.nanoTime();
+        Instant modifiedAfter = null;
+
+        if (Files.exists(snapshotPath)) {
+            try {
+                index.readSnapshot(snapshotPath);
+                modifiedAfter = Instant.ofEpochMilli(index.watermark());
+            } catch (IOException e) {
+                log.warn("Search index snapshot {} could not be read, rebuilding from MongoDB", snapshotPath, e);
+            }
+        }
+
+        long indexed = 0;
+        try (Stream<Blog> blogs = blogRepository.streamForSearchIndex(modifiedAfter, batchSize)) {
+            for (Blog blog : (Iterable<Blog>) blogs::iterator) {
+                put(blog);
+                indexed++;
+            }
+        }
+
+        ready = true;
+        dirty.set(indexed > 0);
+        log.info("Search index ready in {} ms: {} blogs read from MongoDB {}, {}",
+                (System.nanoTime() - start) / 1_000_000, indexed,
+                modifiedAfter != null ? "since " + modifiedAfter : "in a full scan", index.stats());
+        writeSnapshot();
+    }
+
+    // A full scan that also drops what it no longer finds, for when deletes may have been missed, e.g. a dropped
+    // collection; documents written meanwhile are applied as they come and not dropped
+    public void rebuild() {
+        long start = System.nanoTime();
+        long startedAt = System.currentTimeMillis();
+
+        Set<String> found = new HashSet<>();
+        try (Stream<Blog> blogs = blogRepository.streamForSearchIndex(null, batchSize)) {
+            for (Blog blog : (Iterable<Blog>) blogs::iterator) {
+                put(blog);
+                found.add(blog.getId());
+            }
+        }
+        int removed = index.removeUnlisted(found, startedAt);
+
+        ready = true;
+        dirty.set(true);
+        log.info("Search index rebuilt in {} ms: {} blogs read from MongoDB in a full scan, {} no longer found, {}",
+                (System.nanoTime() - start) / 1_000_000, found.size(), removed, index.stats());
+        writeSnapshot();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<InvertedIndex.Hit> search(String query, long offset, int limit) {
+        return index.search(query, offset, limit);
+    }
+
+    public void index(Blog blog) {
+        if (enabled && blog.getId() != null) {
+            put(blog);
+            dirty.set(true);
+        }
+    }
+
+    public void remove(String blogId) {
+        if (enabled) {
+            index.remove(blogId);
+            dirty.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${omnify.search.snapshot.interval:5m}",
+            initialDelayString = "${omnify.search.snapshot.interval:5m}")
+    public void snapshotIfChanged() {
+        if (ready && dirty.get()) {
+            writeSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshotIfChanged();
+    }
+
+    private void put(Blog blog) {
+        Instant modified = blog.getUpdatedAt() != null ? blog.getUpdatedAt() : blog.getCreatedAt();
+        index.put(blog.getId(), blog.getTitle(), blog.getContent(), modified != null ? modified.toEpochMilli() : 0);
+    }
+
+    private void writeSnapshot() {
+        dirty.set(false);
+        try {
+            index.writeSnapshot(snapshotPath);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("Could not write search index snapshot {}", snapshotPath, e);
+        }
+    }
+}
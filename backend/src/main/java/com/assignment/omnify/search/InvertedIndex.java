@@ -0,0 +1,463 @@
+package com.assignment.omnify.search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index with BM25 ranking over documents identified by a string key.
+ *
+ * Every indexed version of a document gets a fresh internal doc number, so posting lists stay append-only and
+ * delta-encodable. Replacing or removing a document only tombstones its old doc number; the postings are
+ * rewritten without tombstones once they make up a large enough share of the index.
+ * Searches share a read lock, changes take the write lock.
+ */
+public class InvertedIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x4F4D4958;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_WEIGHT = 2;
+
+    // Rewrite postings when tombstones pass this share of all doc numbers
+    private static final double COMPACTION_RATIO = 0.25;
+    private static final int COMPACTION_MIN_DELETED = 1_000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, PostingList> postings = new HashMap<>();
+    private Map<String, Integer> docByKey = new HashMap<>();
+    private List<String> keys = new ArrayList<>();
+    private int[] docLengths = new int[1024];
+    private long[] docVersions = new long[1024];
+    private BitSet deleted = new BitSet();
+    private long totalLength;
+    private int liveDocs;
+    private long watermark;
+
+    public record Hit(String key, float score) {
+    }
+
+    public record Stats(int documents, int deletedDocuments, int terms, long postingBytes) {
+    }
+
+    /**
+     * Indexes the title and body of a document, replacing any earlier version of it.
+     * version is the document's modification time in epoch millis, the highest one seen becomes the watermark.
+     */
+    public void put(String key, String title, String body, long version) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = 0;
+        for (String token : Tokenizer.tokenize(title)) {
+            termFrequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String token : Tokenizer.tokenize(body)) {
+            termFrequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // A rebuild can read a document before a concurrent update indexes it, the newer version wins
+            Integer previous = docByKey.get(key);
+            if (previous != null && docVersions[previous] > version) {
+                return;
+            }
+            tombstone(key);
+
+            int doc = keys.size();
+            keys.add(key);
+            if (doc == docLengths.length) {
+                docLengths = Arrays.copyOf(docLengths, doc * 2);
+                docVersions = Arrays.copyOf(docVersions, doc * 2);
+            }
+            docLengths[doc] = length;
+            docVersions[doc] = version;
+            docByKey.put(key, doc);
+            totalLength += length;
+            liveDocs++;
+
+            termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new PostingList()).add(doc, frequency));
+
+            watermark = Math.max(watermark, version);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            tombstone(key);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Documents not among found with a version before versionBefore, i.e. gone from a full scan started at versionBefore
+    public int removeUnlisted(Set<String> found, long versionBefore) {
+        lock.writeLock().lock();
+        try {
+            List<String> gone = new ArrayList<>();
+            docByKey.forEach((key, doc) -> {
+                if (!found.contains(key) && docVersions[doc] < versionBefore) {
+                    gone.add(key);
+                }
+            });
+            gone.forEach(this::tombstone);
+            compactIfNeeded();
+            return gone.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Top documents for the query, skipping the first offset hits
+    public List<Hit> search(String query, long offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (terms.isEmpty() || offset < 0 || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return List.of();
+            }
+
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            int matched = 0;
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list != null) {
+                    lists.add(list);
+                    matched += list.count();
+                }
+            }
+            // No query can match more documents than its postings name, a page past them is empty without scoring
+            if (lists.isEmpty() || offset >= matched) {
+                return List.of();
+            }
+
+            // Only documents on the query's posting lists get a slot, not every doc number in the index
+            Scores scores = new Scores(matched);
+            float averageLength = (float) totalLength / liveDocs;
+            for (PostingList list : lists) {
+                // Tombstoned postings are not counted, a df above liveDocs would turn the idf negative
+                float df = liveCount(list);
+                float idf = (float) Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+                list.forEach((doc, tf) -> {
+                    if (!deleted.get(doc)) {
+                        float norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                        scores.add(doc, idf * tf * (K1 + 1) / (tf + norm));
+                    }
+                });
+            }
+
+            int wanted = (int) Math.min(offset + limit, matched);
+            PriorityQueue<Hit> top = new PriorityQueue<>(wanted + 1, (a, b) -> a.score() != b.score()
+                    ? Float.compare(a.score(), b.score()) : b.key().compareTo(a.key()));
+            scores.forEach((doc, score) -> {
+                if (score > 0 && (top.size() < wanted || score >= top.peek().score())) {
+                    top.add(new Hit(keys.get(doc), score));
+                    if (top.size() > wanted) {
+                        top.poll();
+                    }
+                }
+            });
+
+            List<Hit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                hits.add(top.poll());
+            }
+            Collections.reverse(hits);
+            return offset >= hits.size() ? List.of() : hits.subList((int) offset, hits.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long watermark() {
+        lock.readLock().lock();
+        try {
+            return watermark;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (PostingList list : postings.values()) {
+                bytes += list.sizeInBytes();
+            }
+            return new Stats(liveDocs, keys.size() - liveDocs, postings.size(), bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the index to a memory-mapped temp file next to target and moves it into place,
+     * so a crash mid-write leaves the previous snapshot intact.
+     */
+    public void writeSnapshot(Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+
+        try {
+            // Compact under the write lock, then downgrade so searches can run while the file is written
+            lock.writeLock().lock();
+            try {
+                if (keys.size() != liveDocs) {
+                    compact();
+                }
+                lock.readLock().lock();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, snapshotSize());
+                writeSnapshot(out);
+                out.force();
+            } finally {
+                lock.readLock().unlock();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Replaces the whole content of this index with the snapshot at source
+    public void readSnapshot(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.getInt() != SNAPSHOT_MAGIC || in.getInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a search index snapshot: " + source);
+            }
+
+            long snapshotWatermark = in.getLong();
+            long snapshotTotalLength = in.getLong();
+            int docCount = in.getInt();
+
+            List<String> snapshotKeys = new ArrayList<>(docCount);
+            Map<String, Integer> snapshotDocByKey = new HashMap<>(docCount * 2);
+            int[] snapshotLengths = new int[Math.max(1024, docCount)];
+            long[] snapshotVersions = new long[snapshotLengths.length];
+            for (int doc = 0; doc < docCount; doc++) {
+                String key = readString(in);
+                snapshotKeys.add(key);
+                snapshotDocByKey.put(key, doc);
+                snapshotLengths[doc] = in.getInt();
+                snapshotVersions[doc] = in.getLong();
+            }
+
+            int termCount = in.getInt();
+            Map<String, PostingList> snapshotPostings = new HashMap<>(termCount * 2);
+            for (int i = 0; i < termCount; i++) {
+                String term = readString(in);
+                snapshotPostings.put(term, PostingList.readFrom(in));
+            }
+
+            lock.writeLock().lock();
+            try {
+                postings = snapshotPostings;
+                docByKey = snapshotDocByKey;
+                keys = snapshotKeys;
+                docLengths = snapshotLengths;
+                docVersions = snapshotVersions;
+                deleted = new BitSet();
+                totalLength = snapshotTotalLength;
+                liveDocs = docCount;
+                watermark = snapshotWatermark;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt search index snapshot: " + source, e);
+        }
+    }
+
+    private int liveCount(PostingList list) {
+        if (deleted.isEmpty()) {
+            return list.count();
+        }
+        int[] live = new int[1];
+        list.forEach((doc, tf) -> {
+            if (!deleted.get(doc)) {
+                live[0]++;
+            }
+        });
+        return live[0];
+    }
+
+    private void tombstone(String key) {
+        Integer previous = docByKey.remove(key);
+        if (previous != null) {
+            deleted.set(previous);
+            totalLength -= docLengths[previous];
+            liveDocs--;
+        }
+    }
+
+    private void compactIfNeeded() {
+        int deletedDocs = keys.size() - liveDocs;
+        if (deletedDocs >= COMPACTION_MIN_DELETED && deletedDocs > keys.size() * COMPACTION_RATIO) {
+            compact();
+        }
+    }
+
+    // Renumbers live documents densely and rewrites every posting list without tombstones
+    private void compact() {
+        int[] remap = new int[keys.size()];
+        List<String> liveKeys = new ArrayList<>(liveDocs);
+        int[] liveLengths = new int[Math.max(1024, liveDocs * 2)];
+        long[] liveVersions = new long[liveLengths.length];
+        for (int doc = 0; doc < keys.size(); doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = liveKeys.size();
+                liveLengths[liveKeys.size()] = docLengths[doc];
+                liveVersions[liveKeys.size()] = docVersions[doc];
+                liveKeys.add(keys.get(doc));
+            }
+        }
+
+        Map<String, PostingList> livePostings = new HashMap<>(postings.size() * 2);
+        postings.forEach((term, list) -> {
+            PostingList rewritten = new PostingList();
+            list.forEach((doc, tf) -> {
+                if (remap[doc] >= 0) {
+                    rewritten.add(remap[doc], tf);
+                }
+            });
+            if (rewritten.count() > 0) {
+                livePostings.put(term, rewritten);
+            }
+        });
+
+        Map<String, Integer> liveDocByKey = new HashMap<>(liveKeys.size() * 2);
+        for (int doc = 0; doc < liveKeys.size(); doc++) {
+            liveDocByKey.put(liveKeys.get(doc), doc);
+        }
+
+        postings = livePostings;
+        keys = liveKeys;
+        docLengths = liveLengths;
+        docVersions = liveVersions;
+        docByKey = liveDocByKey;
+        deleted = new BitSet();
+    }
+
+    // Snapshots are always written compacted, so doc numbers in the file are dense and all live
+    private long snapshotSize() {
+        long size = 4 + 4 + 8 + 8 + 4;
+        for (String key : keys) {
+            size += 4 + key.getBytes(StandardCharsets.UTF_8).length + 4 + 8;
+        }
+        size += 4;
+        for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+            size += 4 + entry.getKey().getBytes(StandardCharsets.UTF_8).length + entry.getValue().snapshotSize();
+        }
+        return size;
+    }
+
+    private void writeSnapshot(ByteBuffer out) {
+        out.putInt(SNAPSHOT_MAGIC);
+        out.putInt(SNAPSHOT_VERSION);
+        out.putLong(watermark);
+        out.putLong(totalLength);
+        out.putInt(keys.size());
+        for (int doc = 0; doc < keys.size(); doc++) {
+            writeString(out, keys.get(doc));
+            out.putInt(docLengths[doc]);
+            out.putLong(docVersions[doc]);
+        }
+
+        out.putInt(postings.size());
+        postings.forEach((term, list) -> {
+            writeString(out, term);
+            list.writeTo(out);
+        });
+    }
+
+    private static void writeString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length);
+        out.put(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Score per matched doc number, open addressing sized up front for the most documents a query can match
+    private static final class Scores {
+
+        interface Visitor {
+            void visit(int doc, float score);
+        }
+
+        private final int[] docs;
+        private final float[] values;
+        private final int mask;
+
+        Scores(int maxDocs) {
+            int capacity = Integer.highestOneBit(Math.max(2, maxDocs) * 2 - 1) << 1;
+            docs = new int[capacity];
+            values = new float[capacity];
+            mask = capacity - 1;
+            Arrays.fill(docs, -1);
+        }
+
+        void add(int doc, float score) {
+            int slot = (doc * 0x9E3779B9) & mask;
+            while (docs[slot] != doc && docs[slot] != -1) {
+                slot = (slot + 1) & mask;
+            }
+            docs[slot] = doc;
+            values[slot] += score;
+        }
+
+        void forEach(Visitor visitor) {
+            for (int slot = 0; slot < docs.length; slot++) {
+                if (docs[slot] != -1) {
+                    visitor.visit(docs[slot], values[slot]);
+                }
+            }
+        }
+    }
+}
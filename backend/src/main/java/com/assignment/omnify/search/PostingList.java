@@ -0,0 +1,111 @@
+package com.assignment.omnify.search;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Postings of one term as (doc gap, term frequency) varint pairs in a single byte array.
+ * Documents are only ever appended in increasing order, so every gap is positive and most fit in one byte.
+ * Not thread-safe, InvertedIndex guards it.
+ */
+final class PostingList {
+
+    interface Visitor {
+        void visit(int doc, int termFrequency);
+    }
+
+    private byte[] data;
+    private int length;
+    private int count;
+    private int lastDoc = -1;
+
+    PostingList() {
+        this.data = new byte[8];
+    }
+
+    private PostingList(byte[] data, int count, int lastDoc) {
+        this.data = data;
+        this.length = data.length;
+        this.count = count;
+        this.lastDoc = lastDoc;
+    }
+
+    void add(int doc, int termFrequency) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("Postings must be added in increasing document order");
+        }
+        ensureCapacity(10);
+        writeVarInt(doc - lastDoc);
+        writeVarInt(termFrequency);
+        lastDoc = doc;
+        count++;
+    }
+
+    void forEach(Visitor visitor) {
+        int position = 0;
+        int doc = -1;
+        while (position < length) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            int termFrequency = 0;
+            shift = 0;
+            do {
+                b = data[position++];
+                termFrequency |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            doc += gap;
+            visitor.visit(doc, termFrequency);
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    // Snapshot layout: count, lastDoc, byte length, bytes
+    int snapshotSize() {
+        return 12 + length;
+    }
+
+    void writeTo(ByteBuffer out) {
+        out.putInt(count);
+        out.putInt(lastDoc);
+        out.putInt(length);
+        out.put(data, 0, length);
+    }
+
+    static PostingList readFrom(ByteBuffer in) {
+        int count = in.getInt();
+        int lastDoc = in.getInt();
+        byte[] data = new byte[in.getInt()];
+        in.get(data);
+        return new PostingList(data, count, lastDoc);
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+}
@@ -6,55 +6,90 @@ import com.assignment.omnify.dto.SignupRequest;
 import com.assignment.omnify.model.User;
 import com.assignment.omnify.repository.UserRepository;
 import com.assignment.omnify.config.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(value = "omnify.auth.service", histogram = true)
 public class AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
-    public TokenResponse signup(SignupRequest request) {
+    public CompletableFuture<TokenResponse> signup(SignupRequest request) {
         String email = request.getEmail().trim().toLowerCase();
 
-        System.out.println(">>> Signup request email: " + request.getEmail());
-        System.out.println(">>> Normalized email: " + email);
+        log.debug("Signup with normalized email {}", email);
 
         if (userRepository.existsByEmail(email)) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already exists");
         }
 
-        User user = new User();
-        user.setEmail(email); 
-        user.setName(request.getName());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        return passwordHashingExecutor.submit(() -> passwordEncoder.encode(request.getPassword()))
+                .thenApplyAsync(passwordHash -> {
+                    User user = new User();
+                    user.setEmail(email);
+                    user.setName(request.getName());
+                    user.setPassword(passwordHash);
+                    user.setCreatedAt(Instant.now());
+                    user.setUpdatedAt(user.getCreatedAt());
 
-        User savedUser = userRepository.save(user);
+                    User savedUser = userRepository.save(user);
 
-        String token = jwtUtil.generateToken(savedUser.getId(), savedUser.getEmail());
+                    String token = jwtUtil.generateToken(savedUser.getId(), savedUser.getEmail());
 
-        return new TokenResponse(token, savedUser.getName(), savedUser.getEmail());
+                    return new TokenResponse(token, savedUser.getName(), savedUser.getEmail());
+                }, passwordHashingExecutor.completions());
     }
 
-    public TokenResponse login(LoginRequest request) {
+    public CompletableFuture<TokenResponse> login(LoginRequest request) {
         String email = request.getEmail().trim().toLowerCase();
 
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
-        }
+        return passwordHashingExecutor.submit(() -> passwordEncoder.matches(request.getPassword(), user.getPassword()))
+                .thenApplyAsync(matches -> {
+                    if (!matches) {
+                        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
+                    }
+
+                    if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+                        upgradePasswordHash(user, request.getPassword());
+                    }
 
-        String token = jwtUtil.generateToken(user.getId(), user.getEmail());
+                    String token = jwtUtil.generateToken(user.getId(), user.getEmail());
+
+                    return new TokenResponse(token, user.getName(), user.getEmail());
+                }, passwordHashingExecutor.completions());
+    }
 
-        return new TokenResponse(token, user.getName(), user.getEmail());
+    // Rehash at the configured cost after the user proved the password, skipped when the pool is busy.
+    // Only the password field is written, the rest of the user may have changed since it was read
+    private void upgradePasswordHash(User user, String rawPassword) {
+        String currentHash = user.getPassword();
+        passwordHashingExecutor.tryExecute(() -> {
+            String newHash = passwordEncoder.encode(rawPassword);
+            passwordHashingExecutor.completions().execute(() -> {
+                try {
+                    userRepository.updatePassword(user.getId(), currentHash, newHash);
+                } catch (RuntimeException e) {
+                    log.warn("Password hash upgrade failed for user {}", user.getId(), e);
+                }
+            });
+        });
     }
 }
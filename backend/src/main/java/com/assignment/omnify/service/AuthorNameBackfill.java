@@ -0,0 +1,67 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.repository.BlogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class AuthorNameBackfill {
+
+    private final BlogRepository blogRepository;
+    private final AuthorNameResolver authorNameResolver;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pause;
+
+    public AuthorNameBackfill(BlogRepository blogRepository,
+                              AuthorNameResolver authorNameResolver,
+                              @Value("${omnify.backfill.author-name.enabled:false}") boolean enabled,
+                              @Value("${omnify.backfill.author-name.batch-size:500}") int batchSize,
+                              @Value("${omnify.backfill.author-name.pause:200ms}") Duration pause) {
+        this.blogRepository = blogRepository;
+        this.authorNameResolver = authorNameResolver;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pause = pause;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    // Walks blogs without authorName in _id order, one users query and one bulk write per batch
+    public long run() {
+        KeysetBackfill.Totals totals = KeysetBackfill.run(batchSize, pause, blogRepository::findWithoutAuthorName, batch -> {
+            Map<String, AuthorSnapshot> authors = authorNameResolver.snapshots(
+                    batch.stream().map(Blog::getUserId).toList());
+
+            Map<String, Blog> blogsById = new LinkedHashMap<>();
+            for (Blog blog : batch) {
+                AuthorSnapshot author = authors.get(blog.getUserId());
+                if (author != null) {
+                    blog.setAuthorName(author.getName());
+                    blog.setAuthorVersion(author.getVersion());
+                    blogsById.put(blog.getId(), blog);
+                }
+            }
+            return blogRepository.setAuthorNames(blogsById);
+        });
+
+        log.info("Author name backfill finished, {} blogs updated", totals.written());
+        return totals.written();
+    }
+}
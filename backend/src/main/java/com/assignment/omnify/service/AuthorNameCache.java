@@ -0,0 +1,61 @@
+package com.assignment.omnify.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+@Component
+public class AuthorNameCache implements MeterBinder {
+
+    private final Cache<String, AuthorSnapshot> names;
+
+    public AuthorNameCache(@Value("${omnify.cache.author-names.max-size:10000}") long maxSize,
+                           @Value("${omnify.cache.author-names.ttl:10m}") Duration ttl) {
+        this.names = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // Misses are handed to the loader in one call, ids it does not return are not cached
+    public Map<String, AuthorSnapshot> getAll(Set<String> userIds,
+                                              Function<Set<? extends String>, Map<String, AuthorSnapshot>> loader) {
+        return names.getAll(userIds, loader);
+    }
+
+    public Map<String, AuthorSnapshot> getAllPresent(Set<String> userIds) {
+        return names.getAllPresent(userIds);
+    }
+
+    public void putAll(Map<String, AuthorSnapshot> authors) {
+        names.putAll(authors);
+    }
+
+    public void invalidate(String userId) {
+        names.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        names.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return names.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, names, "authorNames");
+    }
+}
@@ -0,0 +1,28 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.repository.BlogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthorNameFanout {
+
+    private final BlogRepository blogRepository;
+
+    // Same userId filter as findByUserId, applied as one updateMulti; blogs already holding a newer snapshot are skipped
+    @Async
+    public void propagate(String userId, AuthorSnapshot author) {
+        try {
+            long updated = blogRepository.updateAuthorName(userId, author.getName(), author.getVersion());
+            if (updated > 0) {
+                log.info("Updated author name on {} blogs of user {}", updated, userId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Author name fan-out failed for user {}", userId, e);
+        }
+    }
+}
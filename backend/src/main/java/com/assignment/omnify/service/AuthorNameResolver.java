@@ -0,0 +1,65 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.model.User;
+import com.assignment.omnify.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class AuthorNameResolver {
+
+    private final UserRepository userRepository;
+    private final AuthorNameCache authorNameCache;
+
+    public String resolve(String userId) {
+        return snapshot(userId).getName();
+    }
+
+    public AuthorSnapshot snapshot(String userId) {
+        AuthorSnapshot snapshot = snapshots(Set.of(userId)).get(userId);
+        if (snapshot == null) {
+            throw new RuntimeException("User not found");
+        }
+        return snapshot;
+    }
+
+    // Missing users are reported as an error
+    public Map<String, String> resolveAll(Collection<String> userIds) {
+        Map<String, AuthorSnapshot> snapshots = snapshots(userIds);
+
+        Map<String, String> names = new HashMap<>();
+        for (String userId : userIds) {
+            AuthorSnapshot snapshot = snapshots.get(userId);
+            if (snapshot == null) {
+                throw new RuntimeException("User not found");
+            }
+            names.put(userId, snapshot.getName());
+        }
+        return names;
+    }
+
+    // Cached authors first, then one $in query for whatever is left; unknown ids are left out
+    public Map<String, AuthorSnapshot> snapshots(Collection<String> userIds) {
+        Set<String> distinctIds = new LinkedHashSet<>(userIds);
+        if (distinctIds.isEmpty()) {
+            return Map.of();
+        }
+        return authorNameCache.getAll(distinctIds, this::load);
+    }
+
+    private Map<String, AuthorSnapshot> load(Set<? extends String> userIds) {
+        Map<String, AuthorSnapshot> snapshots = new HashMap<>();
+        for (User user : userRepository.findAllById(List.copyOf(userIds))) {
+            snapshots.put(user.getId(), AuthorSnapshot.of(user));
+        }
+        return snapshots;
+    }
+}
@@ -0,0 +1,23 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class AuthorSnapshot {
+    private final String name;
+    private final long version;
+
+    public static AuthorSnapshot of(User user) {
+        return new AuthorSnapshot(user.getName(), versionOf(user));
+    }
+
+    public static long versionOf(User user) {
+        Instant updatedAt = user.getUpdatedAt() != null ? user.getUpdatedAt() : user.getCreatedAt();
+        return updatedAt != null ? updatedAt.toEpochMilli() : 0L;
+    }
+}
@@ -0,0 +1,287 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.dto.BlogBulkUpdateRequest;
+import com.assignment.omnify.dto.BlogRequest;
+import com.assignment.omnify.dto.BulkItemResult;
+import com.assignment.omnify.dto.BulkResponse;
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.repository.BlogRepository;
+import com.assignment.omnify.repository.BlogRepositoryCustom;
+import io.micrometer.core.annotation.Timed;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Many-blog variants of create, update and delete for import and migration tooling.
+ * Ownership is checked with one query per batch, the author is resolved once per batch and
+ * the writes go out as one unordered bulk operation. A failing item never fails the others,
+ * every item gets its own result with the status a single request would have returned.
+ */
+@Service
+@Timed(value = "omnify.blog.bulk", histogram = true)
+public class BlogBulkService {
+
+    private static final String TITLE_TOO_LONG =
+            "title: size must be between 0 and " + BlogRequest.MAX_TITLE_LENGTH;
+    private static final String CONTENT_TOO_LONG =
+            "content: size must be between 0 and " + BlogRequest.MAX_CONTENT_LENGTH;
+
+    private final BlogRepository blogRepository;
+    private final AuthorNameResolver authorNameResolver;
+    private final BlogEventListener blogEvents;
+    private final int maxItems;
+
+    public BlogBulkService(BlogRepository blogRepository,
+                           AuthorNameResolver authorNameResolver,
+                           BlogEventListener blogEvents,
+                           @Value("${omnify.bulk.max-items:1000}") int maxItems) {
+        this.blogRepository = blogRepository;
+        this.authorNameResolver = authorNameResolver;
+        this.blogEvents = blogEvents;
+        this.maxItems = maxItems;
+    }
+
+    public BulkResponse createBlogs(List<BlogRequest> requests, String userId) {
+        checkSize(requests);
+
+        AuthorSnapshot author = authorNameResolver.snapshot(userId);
+        Instant now = Instant.now();
+
+        BulkItemResult[] results = new BulkItemResult[requests.size()];
+        List<Blog> blogs = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            BlogRequest request = requests.get(i);
+            if (request == null || isBlank(request.getTitle()) || isBlank(request.getContent())) {
+                results[i] = failure(i, null, HttpStatus.BAD_REQUEST, "Title and content are required");
+                continue;
+            }
+            String tooLong = tooLong(request);
+            if (tooLong != null) {
+                results[i] = failure(i, null, HttpStatus.BAD_REQUEST, tooLong);
+                continue;
+            }
+
+            // Ids are assigned up front so every result can name its blog, written or not
+            Blog blog = new Blog();
+            blog.setId(new ObjectId().toHexString());
+            blog.setUserId(userId);
+            blog.setTitle(request.getTitle());
+            blog.setContent(request.getContent());
+            blog.setExcerpt(Excerpts.from(request.getContent()));
+            blog.setAuthorName(author.getName());
+            blog.setAuthorVersion(author.getVersion());
+            blog.setCreatedAt(now);
+
+            blogs.add(blog);
+            positions.add(i);
+            results[i] = new BulkItemResult(i, blog.getId(), HttpStatus.CREATED.value(), null);
+        }
+
+        applyWriteFailures(blogRepository.insertAll(blogs), positions, results);
+        return BulkResponse.of(Arrays.asList(results));
+    }
+
+    public BulkResponse updateBlogs(List<BlogBulkUpdateRequest> requests, String userId) {
+        checkSize(requests);
+
+        List<String> ids = requests.stream()
+                .filter(request -> request != null && request.getId() != null && ObjectId.isValid(request.getId()))
+                .map(BlogBulkUpdateRequest::getId)
+                .toList();
+        Map<String, Blog> owners = findOwners(ids);
+
+        boolean authorNeeded = owners.values().stream()
+                .anyMatch(blog -> userId.equals(blog.getUserId()) && blog.getAuthorName() == null);
+        AuthorSnapshot author = authorNeeded ? authorNameResolver.snapshot(userId) : null;
+        Instant now = Instant.now();
+
+        BulkItemResult[] results = new BulkItemResult[requests.size()];
+        Set<String> seen = new HashSet<>();
+        List<Blog> changes = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            BlogBulkUpdateRequest request = requests.get(i);
+            String id = request != null ? request.getId() : null;
+
+            BulkItemResult rejected = checkOwnership(i, id, owners, userId, seen);
+            if (rejected != null) {
+                results[i] = rejected;
+                continue;
+            }
+            String tooLong = tooLong(request);
+            if (tooLong != null) {
+                results[i] = failure(i, id, HttpStatus.BAD_REQUEST, tooLong);
+                continue;
+            }
+
+            Blog change = new Blog();
+            change.setId(id);
+            change.setUpdatedAt(now);
+            if (!isBlank(request.getTitle())) {
+                change.setTitle(request.getTitle());
+            }
+            if (!isBlank(request.getContent())) {
+                change.setContent(request.getContent());
+                change.setExcerpt(Excerpts.from(request.getContent()));
+            }
+            if (owners.get(id).getAuthorName() == null) {
+                change.setAuthorName(author.getName());
+                change.setAuthorVersion(author.getVersion());
+            }
+
+            changes.add(change);
+            positions.add(i);
+            results[i] = new BulkItemResult(i, id, HttpStatus.OK.value(), null);
+        }
+
+        applyWriteFailures(blogRepository.updateAllOwned(userId, changes), positions, results);
+
+        // Bulk updates emit no save events and only carry the changed fields, so the written blogs are reread whole;
+        // one that is not there any more was deleted between the ownership check and the write
+        List<String> written = new ArrayList<>();
+        for (int operation = 0; operation < changes.size(); operation++) {
+            if (results[positions.get(operation)].getStatus() == HttpStatus.OK.value()) {
+                written.add(changes.get(operation).getId());
+            }
+        }
+        Map<String, Blog> current = new HashMap<>();
+        if (!written.isEmpty()) {
+            blogRepository.findAllById(written).forEach(blog -> current.put(blog.getId(), blog));
+        }
+        for (int operation = 0; operation < changes.size(); operation++) {
+            int index = positions.get(operation);
+            String id = changes.get(operation).getId();
+            if (results[index].getStatus() != HttpStatus.OK.value()) {
+                continue;
+            }
+            Blog blog = current.get(id);
+            if (blog == null) {
+                results[index] = failure(index, id, HttpStatus.NOT_FOUND, "Blog not found");
+            } else if (!userId.equals(blog.getUserId())) {
+                results[index] = failure(index, id, HttpStatus.FORBIDDEN, "You are not the author of this blog");
+            } else {
+                blogEvents.changed(blog);
+            }
+        }
+        return BulkResponse.of(Arrays.asList(results));
+    }
+
+    public BulkResponse deleteBlogs(List<String> ids, String userId) {
+        checkSize(ids);
+
+        Map<String, Blog> owners = findOwners(ids.stream()
+                .filter(id -> id != null && ObjectId.isValid(id))
+                .toList());
+
+        BulkItemResult[] results = new BulkItemResult[ids.size()];
+        Set<String> seen = new HashSet<>();
+        List<String> deletes = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+
+            BulkItemResult rejected = checkOwnership(i, id, owners, userId, seen);
+            if (rejected != null) {
+                results[i] = rejected;
+                continue;
+            }
+
+            deletes.add(id);
+            positions.add(i);
+            results[i] = new BulkItemResult(i, id, HttpStatus.OK.value(), null);
+        }
+
+        BlogRepositoryCustom.BulkDelete deleted = blogRepository.deleteAllOwned(userId, deletes);
+        applyWriteFailures(deleted.failures(), positions, results);
+        for (int operation = 0; operation < deletes.size(); operation++) {
+            int index = positions.get(operation);
+            String id = deletes.get(operation);
+            if (deleted.missing().contains(id)) {
+                results[index] = failure(index, id, HttpStatus.NOT_FOUND, "Blog not found");
+            } else if (results[index].getStatus() == HttpStatus.OK.value()) {
+                blogEvents.removed(id);
+            }
+        }
+        return BulkResponse.of(Arrays.asList(results));
+    }
+
+    private void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one item is required");
+        }
+        if (items.size() > maxItems) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "At most " + maxItems + " items per request");
+        }
+    }
+
+    private Map<String, Blog> findOwners(List<String> ids) {
+        Map<String, Blog> owners = new HashMap<>();
+        if (ids.isEmpty()) {
+            return owners;
+        }
+        for (Blog blog : blogRepository.findOwners(new HashSet<>(ids))) {
+            owners.put(blog.getId(), blog);
+        }
+        return owners;
+    }
+
+    private BulkItemResult checkOwnership(int index, String id, Map<String, Blog> owners, String userId, Set<String> seen) {
+        if (id == null || !ObjectId.isValid(id)) {
+            return failure(index, id, HttpStatus.BAD_REQUEST, "Invalid blog id");
+        }
+        Blog blog = owners.get(id);
+        if (blog == null) {
+            return failure(index, id, HttpStatus.NOT_FOUND, "Blog not found");
+        }
+        if (!blog.getUserId().equals(userId)) {
+            return failure(index, id, HttpStatus.FORBIDDEN, "You are not the author of this blog");
+        }
+        if (!seen.add(id)) {
+            return failure(index, id, HttpStatus.CONFLICT, "Blog appears more than once in the request");
+        }
+        return null;
+    }
+
+    // positions maps the index of each bulk operation back to the index of its request item
+    private void applyWriteFailures(Map<Integer, String> failures, List<Integer> positions, BulkItemResult[] results) {
+        failures.forEach((operation, message) -> {
+            int index = positions.get(operation);
+            results[index] = failure(index, results[index].getId(), HttpStatus.INTERNAL_SERVER_ERROR, message);
+        });
+    }
+
+    private static BulkItemResult failure(int index, String id, HttpStatus status, String message) {
+        return new BulkItemResult(index, id, status.value(), message);
+    }
+
+    // What @Size on BlogRequest checks for single requests, list elements are not validated; null when both fit
+    private static String tooLong(BlogRequest request) {
+        if (request.getTitle() != null && request.getTitle().length() > BlogRequest.MAX_TITLE_LENGTH) {
+            return TITLE_TOO_LONG;
+        }
+        if (request.getContent() != null && request.getContent().length() > BlogRequest.MAX_CONTENT_LENGTH) {
+            return CONTENT_TOO_LONG;
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,54 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.search.BlogSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BlogEventListener extends AbstractMongoEventListener<Blog> {
+
+    private final BlogReadCache blogReadCache;
+    private final BlogPayloadCache blogPayloadCache;
+    private final BlogSearchIndex blogSearchIndex;
+    private final TrendingBlogs trendingBlogs;
+
+    // Runs inside save and delete, so the write has invalidated the caches by the time it returns
+    @Override
+    public void onAfterSave(AfterSaveEvent<Blog> event) {
+        changed(event.getSource());
+    }
+
+    // Also called directly by targeted updates, which emit no save event
+    public void changed(Blog blog) {
+        blogReadCache.invalidate(blog.getId());
+        blogPayloadCache.invalidate(blog.getId());
+        blogSearchIndex.index(blog);
+        trendingBlogs.put(blog);
+    }
+
+    // Also called directly by bulk deletes, which emit no delete event
+    public void removed(String blogId) {
+        blogReadCache.invalidate(blogId);
+        blogPayloadCache.invalidate(blogId);
+        blogSearchIndex.remove(blogId);
+        trendingBlogs.remove(blogId);
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Blog> event) {
+        Document filter = event.getSource();
+        Object id = filter.get("_id");
+        if (id != null && !(id instanceof Document)) {
+            removed(id.toString());
+        } else {
+            blogReadCache.invalidateAll();
+            blogPayloadCache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.dto.BlogResponse;
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.repository.BlogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes blogs as newline-delimited JSON straight from a Mongo cursor, oldest first.
+ * Only one cursor batch is held in memory at a time, so the export size does not matter.
+ * Every line carries createdAt and id, which the client passes back as the watermark to resume.
+ */
+@Service
+public class BlogExportService {
+
+    private static final ObjectId MIN_OBJECT_ID = new ObjectId("000000000000000000000000");
+    private static final byte NEWLINE = '\n';
+
+    private final BlogRepository blogRepository;
+    private final AuthorNameResolver authorNameResolver;
+    private final ObjectWriter lineWriter;
+    private final int defaultBatchSize;
+    private final int maxBatchSize;
+
+    public BlogExportService(BlogRepository blogRepository,
+                             AuthorNameResolver authorNameResolver,
+                             ObjectMapper objectMapper,
+                             @Value("${omnify.export.batch-size:500}") int defaultBatchSize,
+                             @Value("${omnify.export.max-batch-size:5000}") int maxBatchSize) {
+        this.blogRepository = blogRepository;
+        this.authorNameResolver = authorNameResolver;
+        this.lineWriter = objectMapper.writerFor(BlogResponse.class);
+        this.defaultBatchSize = defaultBatchSize;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    // Checked before the response is committed, so a bad watermark is still a plain 400
+    public ExportRequest prepare(String userId, Instant afterCreatedAt, String afterId, Integer batchSize) {
+        if (afterId != null && afterCreatedAt == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "afterId needs afterCreatedAt");
+        }
+        if (afterId != null && !ObjectId.isValid(afterId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid afterId");
+        }
+        if (batchSize != null && batchSize < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "batchSize must be positive");
+        }
+
+        return new ExportRequest(
+                userId,
+                afterCreatedAt,
+                afterId != null ? new ObjectId(afterId) : MIN_OBJECT_ID,
+                batchSize != null ? Math.min(batchSize, maxBatchSize) : defaultBatchSize);
+    }
+
+    public long export(ExportRequest request, OutputStream out) throws IOException {
+        long written = 0;
+        List<Blog> batch = new ArrayList<>(request.batchSize());
+
+        try (Stream<Blog> blogs = blogRepository.streamForExport(
+                request.userId(), request.afterCreatedAt(), request.afterId(), request.batchSize())) {
+            Iterator<Blog> cursor = blogs.iterator();
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == request.batchSize() || !cursor.hasNext()) {
+                    written += writeBatch(batch, out);
+                    batch.clear();
+                }
+            }
+        }
+        return written;
+    }
+
+    // Rows written before the author name denormalization still get one batched lookup per cursor batch
+    private int writeBatch(List<Blog> batch, OutputStream out) throws IOException {
+        List<String> missing = batch.stream()
+                .filter(blog -> blog.getAuthorName() == null)
+                .map(Blog::getUserId)
+                .toList();
+        Map<String, AuthorSnapshot> authors = missing.isEmpty() ? Map.of() : authorNameResolver.snapshots(missing);
+
+        for (Blog blog : batch) {
+            String authorName = blog.getAuthorName();
+            if (authorName == null) {
+                AuthorSnapshot author = authors.get(blog.getUserId());
+                authorName = author != null ? author.getName() : null;
+            }
+
+            out.write(lineWriter.writeValueAsBytes(BlogResponse.fromEntity(blog, authorName)));
+            out.write(NEWLINE);
+        }
+        out.flush();
+        return batch.size();
+    }
+
+    public record ExportRequest(String userId, Instant afterCreatedAt, ObjectId afterId, int batchSize) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.dto.BlogResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized GET /api/blogs/{id} bodies, plain and gzipped, so popular posts skip Jackson and the compressor.
+ * Entries are keyed by blog id and tagged with the ETag they were built for; an entry whose ETag no longer
+ * matches the blog's current validator is rebuilt, so a missed invalidation can only cost memory.
+ */
+@Component
+public class BlogPayloadCache implements MeterBinder {
+
+    private final Cache<String, BlogPayload> payloads;
+    private final ObjectWriter writer;
+    private final int gzipMinSize;
+
+    public BlogPayloadCache(ObjectMapper objectMapper,
+                            @Value("${omnify.cache.blog-payloads.max-size:64MB}") DataSize maxSize,
+                            @Value("${omnify.cache.blog-payloads.ttl:10m}") Duration ttl,
+                            @Value("${omnify.cache.blog-payloads.gzip-min-size:1KB}") DataSize gzipMinSize) {
+        this.writer = objectMapper.writerFor(BlogResponse.class);
+        this.gzipMinSize = (int) gzipMinSize.toBytes();
+        this.payloads = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String id, BlogPayload payload) -> payload.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public BlogPayload get(String blogId, String etag, Supplier<BlogResponse> loader) {
+        BlogPayload cached = payloads.getIfPresent(blogId);
+        if (cached != null && cached.etag().equals(etag)) {
+            return cached;
+        }
+
+        BlogPayload payload = serialize(etag, loader.get());
+        payloads.put(blogId, payload);
+        return payload;
+    }
+
+    public void invalidate(String blogId) {
+        payloads.invalidate(blogId);
+    }
+
+    public void invalidateAll() {
+        payloads.invalidateAll();
+    }
+
+    private BlogPayload serialize(String etag, BlogResponse response) {
+        try {
+            byte[] json = writer.writeValueAsBytes(response);
+            return new BlogPayload(etag, json, json.length >= gzipMinSize ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize blog " + response.getId(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 3);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, payloads, "blogPayloads");
+    }
+
+    // gzip is null when the body is below the compression threshold
+    public record BlogPayload(String etag, byte[] json, byte[] gzip) {
+
+        int weight() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.dto.BlogResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of single blogs for GET /api/blogs/{id}. Concurrent misses for one id share a single load:
+ * the first caller reads Mongo on its own thread and everyone arriving meanwhile waits for that result.
+ * Entries live for a short TTL. Invalidating an id also drops a load still in flight, so a read that starts
+ * after a write never gets the value from before it. Changes that emit no mapping events here (author renames,
+ * writes on other instances) arrive through ChangeStreamInvalidator, or at the latest when the TTL runs out.
+ */
+@Component
+public class BlogReadCache {
+
+    private final AsyncCache<String, CachedBlog> blogs;
+    private final Counter hits;
+    private final Counter coalesced;
+    private final Counter loads;
+
+    public BlogReadCache(@Value("${omnify.cache.blog-reads.max-size:10000}") long maxSize,
+                         @Value("${omnify.cache.blog-reads.ttl:5s}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this.blogs = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+        this.hits = reads(meterRegistry, "hit");
+        this.coalesced = reads(meterRegistry, "coalesced");
+        this.loads = reads(meterRegistry, "load");
+    }
+
+    public CachedBlog get(String blogId, Function<String, CachedBlog> loader) {
+        CompletableFuture<CachedBlog> pending = new CompletableFuture<>();
+        CompletableFuture<CachedBlog> existing = blogs.asMap().putIfAbsent(blogId, pending);
+        if (existing != null) {
+            (existing.isDone() ? hits : coalesced).increment();
+            return join(existing);
+        }
+
+        loads.increment();
+        try {
+            CachedBlog blog = loader.apply(blogId);
+            pending.complete(blog);
+            return blog;
+        } catch (RuntimeException e) {
+            // Failures are not cached, the waiters get the same exception and the next caller loads again
+            blogs.asMap().remove(blogId, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidate(String blogId) {
+        blogs.asMap().remove(blogId);
+    }
+
+    public void invalidateAll() {
+        blogs.asMap().clear();
+    }
+
+    private static CachedBlog join(CompletableFuture<CachedBlog> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter reads(MeterRegistry registry, String outcome) {
+        return Counter.builder("omnify.blog.reads")
+                .description("GET /api/blogs/{id} lookups by how they were served")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    // The validator is built with the entry, the body only for the first read that needs one: a revalidation
+    // answered with 304 never inflates a compressed body or looks up an author
+    public static final class CachedBlog {
+
+        private final ContentValidator validator;
+        private Supplier<BlogResponse> builder;
+        private volatile BlogResponse response;
+
+        public CachedBlog(ContentValidator validator, Supplier<BlogResponse> builder) {
+            this.validator = validator;
+            this.builder = builder;
+        }
+
+        public ContentValidator validator() {
+            return validator;
+        }
+
+        public BlogResponse response() {
+            BlogResponse built = response;
+            if (built == null) {
+                synchronized (this) {
+                    built = response;
+                    if (built == null) {
+                        built = builder.get();
+                        response = built;
+                        builder = null;
+                    }
+                }
+            }
+            return built;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.dto.BlogSearchHit;
+import com.assignment.omnify.repository.BlogRepository;
+import com.assignment.omnify.repository.BlogSummaryView;
+import com.assignment.omnify.search.BlogSearchIndex;
+import com.assignment.omnify.search.InvertedIndex;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Timed(value = "omnify.blog.search", histogram = true)
+public class BlogSearchService {
+
+    private final BlogSearchIndex blogSearchIndex;
+    private final BlogRepository blogRepository;
+    private final AuthorNameResolver authorNameResolver;
+    private final int maxPageSize;
+    private final int maxPage;
+
+    public BlogSearchService(BlogSearchIndex blogSearchIndex,
+                             BlogRepository blogRepository,
+                             AuthorNameResolver authorNameResolver,
+                             @Value("${omnify.search.max-page-size:50}") int maxPageSize,
+                             @Value("${omnify.search.max-page:100}") int maxPage) {
+        this.blogSearchIndex = blogSearchIndex;
+        this.blogRepository = blogRepository;
+        this.authorNameResolver = authorNameResolver;
+        this.maxPageSize = maxPageSize;
+        this.maxPage = maxPage;
+    }
+
+    // Ranking comes from the index, the hits are then read as summaries in one $in query
+    public List<BlogSearchHit> search(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query must not be empty");
+        }
+        if (page < 0 || size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page or size");
+        }
+        if (page > maxPage) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page must be at most " + maxPage);
+        }
+        if (!blogSearchIndex.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Search index is still loading");
+        }
+
+        int limit = Math.min(size, maxPageSize);
+        List<InvertedIndex.Hit> hits = blogSearchIndex.search(query, (long) page * limit, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, BlogSummaryView> blogs = new HashMap<>();
+        for (BlogSummaryView blog : blogRepository.findSummariesByIdIn(hits.stream().map(InvertedIndex.Hit::key).toList())) {
+            blogs.put(blog.getId(), blog);
+        }
+
+        Map<String, String> authorNames = authorNameResolver.resolveAll(blogs.values().stream()
+                .filter(blog -> blog.getAuthorName() == null)
+                .map(BlogSummaryView::getUserId)
+                .toList());
+
+        List<BlogSearchHit> results = new ArrayList<>(hits.size());
+        for (InvertedIndex.Hit hit : hits) {
+            BlogSummaryView blog = blogs.get(hit.key());
+            if (blog == null) {
+                // Deleted while this instance was not watching
+                blogSearchIndex.remove(hit.key());
+                continue;
+            }
+            String authorName = blog.getAuthorName() != null ? blog.getAuthorName() : authorNames.get(blog.getUserId());
+            results.add(BlogSearchHit.fromView(blog, authorName, hit.score()));
+        }
+        return results;
+    }
+}
@@ -2,12 +2,18 @@ package com.assignment.omnify.service;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import com.assignment.omnify.dto.BlogRequest;
 import com.assignment.omnify.dto.BlogResponse;
+import com.assignment.omnify.dto.BlogSummaryResponse;
+import com.assignment.omnify.dto.CursorPage;
 import com.assignment.omnify.model.Blog;
-import com.assignment.omnify.model.User;
 import com.assignment.omnify.repository.BlogRepository;
-import com.assignment.omnify.repository.UserRepository;
+import com.assignment.omnify.repository.BlogSummaryView;
+import com.assignment.omnify.repository.BlogValidatorView;
+import com.assignment.omnify.repository.BlogViewsView;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
@@ -15,13 +21,27 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "omnify.blog.service", histogram = true)
 public class BlogService {
 
-    private final UserRepository userRepository;
+    // Newest first, _id breaks ties between blogs created in the same millisecond
+    static final Sort FEED_SORT = Sort.by(Sort.Direction.DESC, "createdAt", "_id");
+
+    static final int MAX_USER_PAGE_SIZE = 100;
+
+    public record ValidatedPage<T>(Page<T> page, ContentValidator validator) {
+    }
+
     private final BlogRepository blogRepository;
+    private final AuthorNameResolver authorNameResolver;
+    private final BlogPayloadCache blogPayloadCache;
+    private final BlogReadCache blogReadCache;
+    private final BlogEventListener blogEvents;
 
 
     public BlogResponse createBlog(BlogRequest request, String userId) {
@@ -29,36 +49,170 @@ public class BlogService {
         blog.setUserId(userId);
         blog.setTitle(request.getTitle());
         blog.setContent(request.getContent());
+        blog.setExcerpt(Excerpts.from(request.getContent()));
         blog.setCreatedAt(Instant.now());
+        applyAuthor(blog, authorNameResolver.snapshot(userId));
 
         Blog savedBlog = blogRepository.save(blog);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        return BlogResponse.fromEntity(savedBlog, user.getName());
+        return BlogResponse.fromEntity(savedBlog, savedBlog.getAuthorName());
     }
 
     public Page<BlogResponse> getAllBlogs(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
+        return getValidatedBlogs(page, size).page();
+    }
+
+    // The page with the same validator getFeedValidator gives for it, built from the documents already read
+    public ValidatedPage<BlogResponse> getValidatedBlogs(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, FEED_SORT);
 
         Page<Blog> blogsPage = blogRepository.findAll(pageable);
 
-        return blogsPage.map(blog -> {
-            User user = userRepository.findById(blog.getUserId())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-            return BlogResponse.fromEntity(blog, user.getName());
-        });
+        Map<String, String> authorNames = missingAuthorNames(blogsPage.getContent());
+
+        Page<BlogResponse> responses = blogsPage.map(blog -> BlogResponse.fromEntity(blog, authorNameOf(blog, authorNames)));
+        return new ValidatedPage<>(responses,
+                ContentValidator.ofBlogs("blogs", blogsPage.getContent(), "total=" + blogsPage.getTotalElements()));
     }
 
-    public BlogResponse getBlogById(String blogId) {
-        Blog blog = blogRepository.findById(blogId)
-                .orElseThrow(() -> new RuntimeException("Blog not found"));
+    // Keyset paging, an empty cursor starts at the newest blog and no total count is run
+    public CursorPage<BlogResponse> getBlogsAfter(String cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size, FEED_SORT);
+
+        Slice<Blog> blogsSlice;
+        if (cursor == null || cursor.isBlank()) {
+            blogsSlice = blogRepository.findAllBy(pageable);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            blogsSlice = blogRepository.findAllAfter(after.getCreatedAt(), after.getId(), pageable);
+        }
 
-        User user = userRepository.findById(blog.getUserId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        List<Blog> blogs = blogsSlice.getContent();
+        Map<String, String> authorNames = missingAuthorNames(blogs);
+        List<BlogResponse> items = blogs.stream()
+                .map(blog -> BlogResponse.fromEntity(blog, authorNameOf(blog, authorNames)))
+                .toList();
 
-        return BlogResponse.fromEntity(blog, user.getName());
+        String nextCursor = null;
+        if (blogsSlice.hasNext()) {
+            Blog last = blogs.get(blogs.size() - 1);
+            nextCursor = FeedCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    public Page<BlogSummaryResponse> getBlogSummaries(int page, int size) {
+        return getValidatedSummaries(page, size).page();
+    }
+
+    public ValidatedPage<BlogSummaryResponse> getValidatedSummaries(int page, int size) {
+        Page<BlogSummaryView> summaries = blogRepository.findSummariesBy(PageRequest.of(page, size, FEED_SORT));
+
+        Map<String, String> authorNames = missingSummaryAuthorNames(summaries.getContent());
+
+        Page<BlogSummaryResponse> responses =
+                summaries.map(blog -> BlogSummaryResponse.fromView(blog, summaryAuthorNameOf(blog, authorNames)));
+        return new ValidatedPage<>(responses,
+                ContentValidator.ofWindow("summaries", summaries.getContent(), "total=" + summaries.getTotalElements()));
+    }
+
+    public CursorPage<BlogSummaryResponse> getBlogSummariesAfter(String cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size, FEED_SORT);
+
+        Slice<BlogSummaryView> summaries;
+        if (cursor == null || cursor.isBlank()) {
+            summaries = blogRepository.findSummarySliceBy(pageable);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            summaries = blogRepository.findSummariesAfter(after.getCreatedAt(), after.getId(), pageable);
+        }
+
+        List<BlogSummaryView> blogs = summaries.getContent();
+        Map<String, String> authorNames = missingSummaryAuthorNames(blogs);
+        List<BlogSummaryResponse> items = blogs.stream()
+                .map(blog -> BlogSummaryResponse.fromView(blog, summaryAuthorNameOf(blog, authorNames)))
+                .toList();
+
+        String nextCursor = null;
+        if (summaries.hasNext()) {
+            BlogSummaryView last = blogs.get(blogs.size() - 1);
+            nextCursor = FeedCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    // One author's blogs, newest first. Every item shares the author, so it is resolved once for the page
+    public CursorPage<BlogSummaryResponse> getUserBlogsAfter(String userId, String cursor, int size) {
+        if (size < 1 || size > MAX_USER_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be between 1 and " + MAX_USER_PAGE_SIZE);
+        }
+        AuthorSnapshot author = authorNameResolver.snapshots(List.of(userId)).get(userId);
+        if (author == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+
+        Pageable pageable = PageRequest.of(0, size, FEED_SORT);
+
+        Slice<BlogSummaryView> summaries;
+        if (cursor == null || cursor.isBlank()) {
+            summaries = blogRepository.findByUserId(userId, pageable);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            summaries = blogRepository.findByUserIdAfter(userId, after.getCreatedAt(), after.getId(), pageable);
+        }
+
+        List<BlogSummaryView> blogs = summaries.getContent();
+        List<BlogSummaryResponse> items = blogs.stream()
+                .map(blog -> BlogSummaryResponse.fromView(blog, author.getName()))
+                .toList();
+
+        String nextCursor = null;
+        if (summaries.hasNext()) {
+            BlogSummaryView last = blogs.get(blogs.size() - 1);
+            nextCursor = FeedCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    // A single blog and its validator come from one coalesced, briefly cached load
+    public ContentValidator getBlogValidator(String blogId) {
+        return blogReadCache.get(blogId, this::loadBlog).validator();
+    }
+
+    public ContentValidator getFeedValidator(String representation, int page, int size) {
+        Page<BlogValidatorView> window = blogRepository.findValidatorsBy(PageRequest.of(page, size, FEED_SORT));
+
+        return ContentValidator.ofWindow(representation, window.getContent(), "total=" + window.getTotalElements());
+    }
+
+    public ContentValidator getFeedValidatorAfter(String representation, String cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size, FEED_SORT);
+
+        Slice<BlogValidatorView> window;
+        if (cursor == null || cursor.isBlank()) {
+            window = blogRepository.findValidatorSliceBy(pageable);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            window = blogRepository.findValidatorsAfter(after.getCreatedAt(), after.getId(), pageable);
+        }
+
+        return ContentValidator.ofWindow(representation, window.getContent(), "next=" + window.hasNext());
+    }
+
+    // etag is the strong ETag from getBlogValidator, a cached payload built for another version is rebuilt
+    public BlogPayloadCache.BlogPayload getBlogPayload(String blogId, String etag) {
+        return blogPayloadCache.get(blogId, etag, () -> getBlogById(blogId));
+    }
+
+    public BlogResponse getBlogById(String blogId) {
+        return blogReadCache.get(blogId, this::loadBlog).response();
+    }
+
+    // Views as last flushed, read past the caches; documents from before view counting have none
+    public long getBlogViews(String blogId) {
+        BlogViewsView blog = blogRepository.findViewsById(blogId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Blog not found"));
+        return blog.getViews() != null ? blog.getViews() : 0;
     }
 
 
@@ -70,20 +224,30 @@ public class BlogService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You are not the author of this blog");
         }
 
+        Blog change = new Blog();
+        change.setId(blogId);
+        change.setUpdatedAt(Instant.now());
         if (request.getTitle() != null && !request.getTitle().isBlank()) {
-            blog.setTitle(request.getTitle());
+            change.setTitle(request.getTitle());
         }
         if (request.getContent() != null && !request.getContent().isBlank()) {
-            blog.setContent(request.getContent());
+            change.setContent(request.getContent());
+            change.setExcerpt(Excerpts.from(request.getContent()));
         }
 
-        blog.setUpdatedAt(Instant.now());
-        Blog updatedBlog = blogRepository.save(blog);
+        if (blog.getAuthorName() == null) {
+            applyAuthor(change, authorNameResolver.snapshot(userId));
+        }
+
+        // Only the changed fields are written, saving the loaded blog would undo views flushed since it was read
+        Blog updatedBlog = blogRepository.updateOwned(userId, change);
+        if (updatedBlog == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Blog not found");
+        }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        blogEvents.changed(updatedBlog);
 
-        return BlogResponse.fromEntity(updatedBlog, user.getName());
+        return BlogResponse.fromEntity(updatedBlog, updatedBlog.getAuthorName());
     }
 
 
@@ -98,4 +262,40 @@ public class BlogService {
         blogRepository.delete(blog);
     }
 
+    private BlogReadCache.CachedBlog loadBlog(String blogId) {
+        Blog blog = blogRepository.findById(blogId)
+                .orElseThrow(() -> new RuntimeException("Blog not found"));
+
+        return new BlogReadCache.CachedBlog(ContentValidator.of(blog),
+                () -> BlogResponse.fromEntity(blog, authorNameOf(blog, missingAuthorNames(List.of(blog)))));
+    }
+
+    private void applyAuthor(Blog blog, AuthorSnapshot author) {
+        blog.setAuthorName(author.getName());
+        blog.setAuthorVersion(author.getVersion());
+    }
+
+    // Only blogs written before authorName was denormalized still need a users lookup
+    private Map<String, String> missingAuthorNames(List<Blog> blogs) {
+        return authorNameResolver.resolveAll(blogs.stream()
+                .filter(blog -> blog.getAuthorName() == null)
+                .map(Blog::getUserId)
+                .toList());
+    }
+
+    private String authorNameOf(Blog blog, Map<String, String> missingAuthorNames) {
+        return blog.getAuthorName() != null ? blog.getAuthorName() : missingAuthorNames.get(blog.getUserId());
+    }
+
+    private Map<String, String> missingSummaryAuthorNames(List<BlogSummaryView> blogs) {
+        return authorNameResolver.resolveAll(blogs.stream()
+                .filter(blog -> blog.getAuthorName() == null)
+                .map(BlogSummaryView::getUserId)
+                .toList());
+    }
+
+    private String summaryAuthorNameOf(BlogSummaryView blog, Map<String, String> missingAuthorNames) {
+        return blog.getAuthorName() != null ? blog.getAuthorName() : missingAuthorNames.get(blog.getUserId());
+    }
+
 }
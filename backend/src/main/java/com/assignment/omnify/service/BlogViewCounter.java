@@ -0,0 +1,191 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.repository.BlogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Blog views, counted in memory and written to Mongo as one unordered bulk $inc per flush instead of one write per read.
+ * A view of a blog that already has a counter is a map lookup and an atomic add, nothing is allocated.
+ * A flush takes every count with getAndSet(0); a counter still at zero a flush later is retired and dropped,
+ * and a view racing that retirement moves on to a fresh counter. Increments that fail are added back and go out
+ * with the next flush, so while Mongo is slow or down the counts keep aggregating in place. Past max-pending-blogs
+ * counters, views of blogs that have none are dropped and counted instead of growing the heap without bound.
+ * A crash loses at most the views of one flush interval, shutdown runs a last flush.
+ */
+@Slf4j
+@Component
+public class BlogViewCounter {
+
+    private static final int STRIPES = 64;
+
+    // Far enough below zero that increments racing a retirement can never bring it back up
+    private static final long RETIRED = Long.MIN_VALUE / 2;
+
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes = new ConcurrentHashMap[STRIPES];
+    private final AtomicInteger counters = new AtomicInteger();
+
+    private final BlogRepository blogRepository;
+    private final TrendingBlogs trendingBlogs;
+    private final int batchSize;
+    private final int maxPendingBlogs;
+
+    private final Counter flushed;
+    private final Counter dropped;
+    private final Timer flushTimer;
+
+    public BlogViewCounter(BlogRepository blogRepository,
+                           TrendingBlogs trendingBlogs,
+                           @Value("${omnify.views.batch-size:1000}") int batchSize,
+                           @Value("${omnify.views.max-pending-blogs:100000}") int maxPendingBlogs,
+                           MeterRegistry meterRegistry) {
+        this.blogRepository = blogRepository;
+        this.trendingBlogs = trendingBlogs;
+        this.batchSize = batchSize;
+        this.maxPendingBlogs = maxPendingBlogs;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+
+        this.flushed = Counter.builder("omnify.blog.views.flushed").register(meterRegistry);
+        this.dropped = Counter.builder("omnify.blog.views.dropped").register(meterRegistry);
+        this.flushTimer = Timer.builder("omnify.blog.views.flush").register(meterRegistry);
+        Gauge.builder("omnify.blog.views.pending", counters, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public void record(String blogId) {
+        if (!add(blogId, 1)) {
+            dropped.increment();
+        }
+    }
+
+    // Views of the blog counted here and not flushed yet, other instances hold their own
+    public long pending(String blogId) {
+        AtomicLong counter = stripes[(blogId.hashCode() & 0x7fffffff) % STRIPES].get(blogId);
+        return counter != null ? Math.max(counter.get(), 0) : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${omnify.views.flush-interval:5s}",
+            initialDelayString = "${omnify.views.flush-interval:5s}")
+    public synchronized void flush() {
+        Map<String, Long> pending = drain();
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<String> ids = new ArrayList<>(pending.keySet());
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            Map<String, Long> batch = new HashMap<>();
+            for (String id : ids.subList(from, Math.min(from + batchSize, ids.size()))) {
+                batch.put(id, pending.get(id));
+            }
+
+            Set<String> failed;
+            try {
+                failed = blogRepository.incrementViews(batch);
+            } catch (RuntimeException e) {
+                // Mongo is unreachable or too slow, the rest would fail the same way; everything waits for the next flush
+                log.warn("Could not flush views of {} blogs, retrying with the next flush", ids.size() - from, e);
+                ids.subList(from, ids.size()).forEach(id -> restore(id, pending.get(id)));
+                break;
+            }
+
+            batch.forEach((id, views) -> {
+                if (failed.contains(id)) {
+                    restore(id, views);
+                } else {
+                    flushed.increment(views);
+                }
+            });
+            // Only what was written, a failed increment reaches the ranking with the flush that retries it
+            batch.keySet().removeAll(failed);
+            trendingBlogs.addViews(batch);
+        }
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // Blogs that have a counter, whether or not it holds views right now
+    int size() {
+        return counters.get();
+    }
+
+    private boolean add(String blogId, long views) {
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[(blogId.hashCode() & 0x7fffffff) % STRIPES];
+        while (true) {
+            AtomicLong counter = stripe.get(blogId);
+            if (counter == null) {
+                counter = admit(stripe, blogId);
+                if (counter == null) {
+                    return false;
+                }
+            }
+            if (counter.getAndAdd(views) >= 0) {
+                return true;
+            }
+            // Retired by a flush since the lookup, make sure it is out of the map and count on a fresh one
+            if (stripe.remove(blogId, counter)) {
+                counters.decrementAndGet();
+            }
+        }
+    }
+
+    private AtomicLong admit(ConcurrentHashMap<String, AtomicLong> stripe, String blogId) {
+        if (counters.get() >= maxPendingBlogs) {
+            return null;
+        }
+        AtomicLong fresh = new AtomicLong();
+        AtomicLong existing = stripe.putIfAbsent(blogId, fresh);
+        if (existing != null) {
+            return existing;
+        }
+        counters.incrementAndGet();
+        return fresh;
+    }
+
+    private Map<String, Long> drain() {
+        Map<String, Long> pending = new HashMap<>();
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            stripe.forEach((id, counter) -> {
+                // Only flushes retire counters and they take them out right away, so none seen here is retired
+                long views = counter.getAndSet(0);
+                if (views > 0) {
+                    pending.put(id, views);
+                } else if (counter.compareAndSet(0, RETIRED) && stripe.remove(id, counter)) {
+                    counters.decrementAndGet();
+                }
+            });
+        }
+        return pending;
+    }
+
+    // A failed increment goes back into the counts, unless the bound was hit meanwhile
+    private void restore(String blogId, long views) {
+        if (!add(blogId, views)) {
+            dropped.increment(views);
+        }
+    }
+}
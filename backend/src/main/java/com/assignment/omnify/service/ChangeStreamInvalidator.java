@@ -0,0 +1,398 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.model.User;
+import com.assignment.omnify.repository.BlogRepository;
+import com.assignment.omnify.search.BlogSearchIndex;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the in-process caches of this instance in step with writes made by every instance.
+ * One change stream over the blogs and users collections is tailed on a dedicated thread, and the ids it
+ * reports are invalidated in batches. The resume token of the last applied batch is persisted, so after a
+ * reconnect or a restart the stream carries on where it stopped instead of flushing every cache; only when
+ * the token has fallen out of the oplog are the caches dropped wholesale, and the search index and trending
+ * blogs reloaded from MongoDB.
+ * Change streams need a replica set, against a standalone server the listener logs a warning and stays off.
+ */
+@Slf4j
+@Component
+public class ChangeStreamInvalidator {
+
+    private static final int CHANGE_STREAM_FATAL_ERROR = 280;
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final int NOT_A_REPLICA_SET = 40573;
+
+    private static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration PERSIST_INTERVAL = Duration.ofSeconds(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final BlogRepository blogRepository;
+    private final BlogReadCache blogReadCache;
+    private final BlogPayloadCache blogPayloadCache;
+    private final AuthorNameCache authorNameCache;
+    private final BlogSearchIndex blogSearchIndex;
+    private final TrendingBlogs trendingBlogs;
+    private final boolean enabled;
+    private final Path tokenPath;
+    private final int batchSize;
+    private final Duration maxDelay;
+
+    private final String blogCollection;
+    private final String userCollection;
+    private final Counter blogEvents;
+    private final Counter userEvents;
+    private final Counter fullInvalidations;
+
+    private volatile boolean running;
+    private volatile boolean watching;
+    private Thread worker;
+
+    // Only touched by the worker thread, and by shutdown after the worker has stopped
+    private BsonDocument resumeToken;
+    private long persistedAt;
+    private boolean tokenDirty;
+    private boolean reloadPending;
+
+    public ChangeStreamInvalidator(MongoTemplate mongoTemplate,
+                                   BlogRepository blogRepository,
+                                   BlogReadCache blogReadCache,
+                                   BlogPayloadCache blogPayloadCache,
+                                   AuthorNameCache authorNameCache,
+                                   BlogSearchIndex blogSearchIndex,
+                                   TrendingBlogs trendingBlogs,
+                                   @Value("${omnify.cache.invalidation.enabled:false}") boolean enabled,
+                                   @Value("${omnify.cache.invalidation.resume-token.path:data/change-stream-token.json}") Path tokenPath,
+                                   @Value("${omnify.cache.invalidation.batch-size:500}") int batchSize,
+                                   @Value("${omnify.cache.invalidation.max-delay:200ms}") Duration maxDelay,
+                                   MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.blogRepository = blogRepository;
+        this.blogReadCache = blogReadCache;
+        this.blogPayloadCache = blogPayloadCache;
+        this.authorNameCache = authorNameCache;
+        this.blogSearchIndex = blogSearchIndex;
+        this.trendingBlogs = trendingBlogs;
+        this.enabled = enabled;
+        this.tokenPath = tokenPath;
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay;
+
+        this.blogCollection = mongoTemplate.getCollectionName(Blog.class);
+        this.userCollection = mongoTemplate.getCollectionName(User.class);
+        this.blogEvents = events(meterRegistry, blogCollection);
+        this.userEvents = events(meterRegistry, userCollection);
+        this.fullInvalidations = Counter.builder("omnify.cache.invalidation.full")
+                .description("Times every cache was dropped because the change stream could not resume")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        resumeToken = readToken();
+        running = true;
+        worker = Thread.ofPlatform().name("change-stream-invalidator").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        worker.join(maxDelay.toMillis() + 1000);
+        if (!worker.isAlive() && tokenDirty) {
+            writeToken();
+        }
+    }
+
+    boolean isWatching() {
+        return watching;
+    }
+
+    private void run() {
+        Duration backoff = MIN_BACKOFF;
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = open()) {
+                watching = true;
+                backoff = MIN_BACKOFF;
+                log.info("Watching {} and {} for changes{}", blogCollection, userCollection,
+                        resumeToken != null ? ", resuming after the persisted token" : "");
+                if (reloadPending) {
+                    reloadPending = false;
+                    reloadIndexes();
+                }
+                tail(cursor);
+            } catch (MongoCommandException e) {
+                watching = false;
+                if (e.getErrorCode() == NOT_A_REPLICA_SET) {
+                    log.warn("MongoDB is not a replica set, cache invalidation across instances is off "
+                            + "and cached blogs and authors only expire by TTL");
+                    return;
+                }
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST || e.getErrorCode() == CHANGE_STREAM_FATAL_ERROR) {
+                    log.warn("Change stream cannot resume from its token, dropping every cache and starting from now", e);
+                    invalidateEverything();
+                    // Rebuilt once the new stream is open, so every write is either in the scan or applied from it
+                    reloadPending = true;
+                    resumeToken = null;
+                    deleteToken();
+                    continue;
+                }
+                log.warn("Change stream failed, retrying in {}", backoff, e);
+                backoff = pause(backoff);
+            } catch (MongoException e) {
+                watching = false;
+                log.warn("Change stream failed, retrying in {}", backoff, e);
+                backoff = pause(backoff);
+            }
+        }
+        watching = false;
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open() {
+        // Only the id of a changed document is needed, the documents themselves are never shipped
+        ChangeStreamIterable<Document> stream = mongoTemplate.getDb()
+                .watch(List.of(
+                        Aggregates.match(Filters.or(
+                                Filters.in("ns.coll", blogCollection, userCollection),
+                                Filters.in("operationType", "dropDatabase", "invalidate"))),
+                        // View count flushes are left to the read cache TTL, invalidating on them would keep
+                        // evicting exactly the blogs that are read the most; a bulk delete's claim is followed by
+                        // the delete itself
+                        Aggregates.match(Filters.nor(
+                                Filters.exists("updateDescription.updatedFields.views"),
+                                Filters.exists("updateDescription.updatedFields.deleteClaim"))),
+                        Aggregates.project(Projections.include("operationType", "ns", "documentKey"))))
+                .batchSize(batchSize)
+                .maxAwaitTime(maxDelay.toMillis(), TimeUnit.MILLISECONDS);
+        if (resumeToken != null) {
+            stream = stream.startAfter(resumeToken);
+        }
+        return stream.cursor();
+    }
+
+    private void tail(MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor) {
+        Batch batch = new Batch();
+        while (running) {
+            // Waits at most maxDelay on the server, null means the stream is drained for now
+            ChangeStreamDocument<Document> change = cursor.tryNext();
+            if (change != null) {
+                batch.add(change);
+            }
+            if (change == null || batch.size() >= batchSize) {
+                apply(batch);
+                batch = new Batch();
+
+                // The cursor's token also moves past events the filter skipped, so an idle stream stays current
+                BsonDocument token = change != null ? change.getResumeToken() : cursor.getResumeToken();
+                if (token != null && !token.equals(resumeToken)) {
+                    resumeToken = token;
+                    tokenDirty = true;
+                }
+                persistIfDue();
+            }
+        }
+    }
+
+    private void apply(Batch batch) {
+        if (batch.everything) {
+            // A drop or rename arrives on a stream that stays open, so waiting for a reopen could wait forever
+            invalidateEverything();
+            reloadIndexes();
+            return;
+        }
+        for (String blogId : batch.changedBlogs) {
+            blogReadCache.invalidate(blogId);
+            blogPayloadCache.invalidate(blogId);
+        }
+        for (String blogId : batch.deletedBlogs) {
+            blogReadCache.invalidate(blogId);
+            blogPayloadCache.invalidate(blogId);
+            blogSearchIndex.remove(blogId);
+            trendingBlogs.remove(blogId);
+        }
+        batch.users.forEach(authorNameCache::invalidate);
+
+        // Writes from other instances reach the search index and trending too, read back in one query per batch
+        if ((blogSearchIndex.isEnabled() || trendingBlogs.isEnabled()) && !batch.changedBlogs.isEmpty()) {
+            blogRepository.findAllById(batch.changedBlogs).forEach(blog -> {
+                blogSearchIndex.index(blog);
+                trendingBlogs.put(blog);
+            });
+        }
+    }
+
+    // Only the caches, the search index and trending are rebuilt by reloadIndexes
+    private void invalidateEverything() {
+        fullInvalidations.increment();
+        blogReadCache.invalidateAll();
+        blogPayloadCache.invalidateAll();
+        authorNameCache.invalidateAll();
+    }
+
+    // Only started while a stream is open, so every write is either in the scan or applied from the stream;
+    // on its own thread, the stream is tailed meanwhile
+    private void reloadIndexes() {
+        if (!blogSearchIndex.isEnabled() && !trendingBlogs.isEnabled()) {
+            return;
+        }
+        Thread.ofPlatform().name("change-stream-reload").daemon().start(() -> {
+            try {
+                if (blogSearchIndex.isEnabled()) {
+                    blogSearchIndex.rebuild();
+                }
+                if (trendingBlogs.isEnabled()) {
+                    trendingBlogs.rebuild();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Rebuilding the search index and trending blogs after a full invalidation failed", e);
+            }
+        });
+    }
+
+    private Duration pause(Duration backoff) {
+        try {
+            Thread.sleep(backoff.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+        Duration next = backoff.multipliedBy(2);
+        return next.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : next;
+    }
+
+    private void persistIfDue() {
+        long now = System.nanoTime();
+        if (tokenDirty && now - persistedAt >= PERSIST_INTERVAL.toNanos()) {
+            writeToken();
+            persistedAt = now;
+        }
+    }
+
+    private BsonDocument readToken() {
+        if (!Files.exists(tokenPath)) {
+            return null;
+        }
+        try {
+            return BsonDocument.parse(Files.readString(tokenPath, StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Change stream resume token {} could not be read, starting from now", tokenPath, e);
+            return null;
+        }
+    }
+
+    private void writeToken() {
+        try {
+            Path directory = tokenPath.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, tokenPath.getFileName().toString(), ".tmp");
+            Files.writeString(temp, resumeToken.toJson(), StandardCharsets.UTF_8);
+            Files.move(temp, tokenPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tokenDirty = false;
+        } catch (IOException e) {
+            log.warn("Could not persist change stream resume token to {}", tokenPath, e);
+        }
+    }
+
+    private void deleteToken() {
+        try {
+            Files.deleteIfExists(tokenPath);
+        } catch (IOException e) {
+            log.warn("Could not delete change stream resume token {}", tokenPath, e);
+        }
+    }
+
+    private static Counter events(MeterRegistry registry, String collection) {
+        return Counter.builder("omnify.cache.invalidation.events")
+                .tag("collection", collection)
+                .register(registry);
+    }
+
+    private class Batch {
+
+        private final Set<String> changedBlogs = new HashSet<>();
+        private final Set<String> deletedBlogs = new HashSet<>();
+        private final Set<String> users = new HashSet<>();
+        private boolean everything;
+        private int size;
+
+        void add(ChangeStreamDocument<Document> change) {
+            size++;
+            BsonDocument namespace = change.getNamespaceDocument();
+            String collection = namespace != null && namespace.isString("coll") ? namespace.getString("coll").getValue() : null;
+            String id = change.getDocumentKey() != null ? idOf(change.getDocumentKey().get("_id")) : null;
+
+            switch (change.getOperationType()) {
+                case INSERT, UPDATE, REPLACE, DELETE -> {
+                    if (id == null) {
+                        everything = true;
+                    } else if (blogCollection.equals(collection)) {
+                        blogEvents.increment();
+                        if (change.getOperationType() == OperationType.DELETE) {
+                            changedBlogs.remove(id);
+                            deletedBlogs.add(id);
+                        } else {
+                            deletedBlogs.remove(id);
+                            changedBlogs.add(id);
+                        }
+                    } else if (userCollection.equals(collection)) {
+                        userEvents.increment();
+                        users.add(id);
+                    }
+                }
+                // Drops, renames and invalidations can affect any document
+                default -> everything = true;
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        private String idOf(BsonValue id) {
+            if (id == null) {
+                return null;
+            }
+            if (id.isObjectId()) {
+                return id.asObjectId().getValue().toHexString();
+            }
+            return id.isString() ? id.asString().getValue() : null;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.repository.BlogValidatorView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * ETag and Last-Modified of a response. Feed windows are validated from projections before the full documents
+ * are read, a single blog from the cached document its body is built from.
+ * A single blog gets a strong ETag from its id, its own version and the version of the author name it carries.
+ * Neither kind covers views: blog and feed bodies leave them out, GET /api/blogs/{id}/views serves them uncached.
+ * A feed window gets a weak ETag over the ids and versions in the window plus whatever else the body shows
+ * about its surroundings (total count, whether there is a next page).
+ */
+@Getter
+@AllArgsConstructor
+public class ContentValidator {
+
+    private final String etag;
+
+    // null when there is nothing to date the response by, e.g. an empty window
+    private final Instant lastModified;
+
+    public long lastModifiedMillis() {
+        return lastModified != null ? lastModified.toEpochMilli() : -1;
+    }
+
+    // Same validator for a re-encoded (e.g. gzipped) representation, which a strong ETag must not be shared with
+    public ContentValidator weak() {
+        return etag.startsWith("W/") ? this : new ContentValidator("W/" + etag, lastModified);
+    }
+
+    static ContentValidator of(Blog blog) {
+        long modified = modifiedMillis(blog.getCreatedAt(), blog.getUpdatedAt());
+        long authorVersion = blog.getAuthorVersion() != null ? blog.getAuthorVersion() : 0;
+
+        String etag = "\"" + blog.getId() + "-" + Long.toHexString(modified) + "-" + Long.toHexString(authorVersion) + "\"";
+        return new ContentValidator(etag, Instant.ofEpochMilli(Math.max(modified, authorVersion)));
+    }
+
+    static ContentValidator ofWindow(String representation, List<? extends BlogValidatorView> window,
+                                     String surroundings) {
+        Window key = new Window(representation, surroundings);
+        for (BlogValidatorView blog : window) {
+            key.add(blog.getId(), blog.getCreatedAt(), blog.getUpdatedAt(), blog.getAuthorVersion());
+        }
+        return key.validator();
+    }
+
+    // The same validator from full documents, for a page that was read without looking at projections first
+    static ContentValidator ofBlogs(String representation, List<Blog> window, String surroundings) {
+        Window key = new Window(representation, surroundings);
+        for (Blog blog : window) {
+            key.add(blog.getId(), blog.getCreatedAt(), blog.getUpdatedAt(), blog.getAuthorVersion());
+        }
+        return key.validator();
+    }
+
+    private static final class Window {
+
+        private final StringBuilder key;
+        private long newest = -1;
+
+        private Window(String representation, String surroundings) {
+            this.key = new StringBuilder(representation).append('|').append(surroundings);
+        }
+
+        private void add(String id, Instant createdAt, Instant updatedAt, Long authorVersion) {
+            long modified = modifiedMillis(createdAt, updatedAt);
+            long version = authorVersion != null ? authorVersion : 0;
+            key.append('|').append(id).append(':').append(modified).append(':').append(version);
+            newest = Math.max(newest, Math.max(modified, version));
+        }
+
+        private ContentValidator validator() {
+            String etag = "W/\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+            return new ContentValidator(etag, newest >= 0 ? Instant.ofEpochMilli(newest) : null);
+        }
+    }
+
+    private static long modifiedMillis(Instant createdAt, Instant updatedAt) {
+        Instant modified = updatedAt != null ? updatedAt : createdAt;
+        return modified != null ? modified.toEpochMilli() : 0;
+    }
+}
@@ -0,0 +1,56 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.repository.BlogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class ExcerptBackfill {
+
+    private final BlogRepository blogRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pause;
+
+    public ExcerptBackfill(BlogRepository blogRepository,
+                           @Value("${omnify.backfill.excerpt.enabled:false}") boolean enabled,
+                           @Value("${omnify.backfill.excerpt.batch-size:200}") int batchSize,
+                           @Value("${omnify.backfill.excerpt.pause:200ms}") Duration pause) {
+        this.blogRepository = blogRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pause = pause;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    // Walks blogs without an excerpt in _id order, one bulk write per batch
+    public long run() {
+        KeysetBackfill.Totals totals = KeysetBackfill.run(batchSize, pause, blogRepository::findWithoutExcerpt, batch -> {
+            Map<String, String> excerptsById = new HashMap<>();
+            for (Blog blog : batch) {
+                excerptsById.put(blog.getId(), Excerpts.from(blog.getContent()));
+            }
+            return blogRepository.setExcerpts(excerptsById);
+        });
+
+        log.info("Excerpt backfill finished, {} blogs updated", totals.written());
+        return totals.written();
+    }
+}
@@ -0,0 +1,30 @@
+package com.assignment.omnify.service;
+
+public final class Excerpts {
+
+    public static final int MAX_LENGTH = 200;
+
+    private Excerpts() {
+    }
+
+    // Collapses whitespace and cuts at the last word boundary that fits
+    public static String from(String content) {
+        if (content == null) {
+            return null;
+        }
+
+        String text = content.strip().replaceAll("\\s+", " ");
+        if (text.length() <= MAX_LENGTH) {
+            return text;
+        }
+
+        int end = text.lastIndexOf(' ', MAX_LENGTH - 3);
+        if (end < MAX_LENGTH / 2) {
+            end = MAX_LENGTH - 3;
+        }
+        if (Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(0, end) + "...";
+    }
+}
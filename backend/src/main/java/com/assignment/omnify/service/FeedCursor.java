@@ -0,0 +1,42 @@
+package com.assignment.omnify.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bson.types.ObjectId;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// Opaque position in the feed: the (createdAt, id) of the last item a client has seen
+@Getter
+@AllArgsConstructor
+public class FeedCursor {
+    private final Instant createdAt;
+    private final ObjectId id;
+
+    public String encode() {
+        String raw = createdAt.toEpochMilli() + ":" + id.toHexString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FeedCursor of(Instant createdAt, String id) {
+        return new FeedCursor(createdAt, new ObjectId(id));
+    }
+
+    public static FeedCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            String id = raw.substring(separator + 1);
+            if (separator < 0 || !ObjectId.isValid(id)) {
+                throw new IllegalArgumentException(cursor);
+            }
+            return new FeedCursor(Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator))), new ObjectId(id));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.model.Blog;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The loop every backfill job runs: read a batch of blogs in _id order after the last one seen, write it, pause,
+ * and stop at the first batch that comes back short. A job only says how a batch is found and how it is written.
+ */
+final class KeysetBackfill {
+
+    // Blogs after afterId in _id order, at most limit of them; afterId is null for the first batch
+    @FunctionalInterface
+    interface Finder {
+        List<Blog> find(String afterId, int limit);
+    }
+
+    // Returns how many blogs of the batch were written
+    @FunctionalInterface
+    interface Writer {
+        long write(List<Blog> batch);
+    }
+
+    record Totals(long scanned, long written) {
+    }
+
+    private KeysetBackfill() {
+    }
+
+    // An interrupt during a pause ends the walk early, with the interrupt flag kept
+    static Totals run(int batchSize, Duration pause, Finder finder, Writer writer) {
+        long scanned = 0;
+        long written = 0;
+        String lastId = null;
+
+        while (true) {
+            List<Blog> batch = finder.find(lastId, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+            scanned += batch.size();
+
+            written += writer.write(batch);
+
+            if (batch.size() < batchSize || !sleep(pause)) {
+                break;
+            }
+        }
+        return new Totals(scanned, written);
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.assignment.omnify.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt hashing off the servlet threads on a pool sized to the CPU count.
+ * The queue is bounded, once it is full new work is rejected with a 503 instead of waiting.
+ * What follows a hash, the Mongo writes and the token, runs on completions() so the pool's threads only hash.
+ */
+@Component
+public class PasswordHashingExecutor implements MeterBinder {
+
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService completions = Executors.newVirtualThreadPerTaskExecutor();
+    private final Duration retryAfter;
+    private Counter rejected;
+
+    public PasswordHashingExecutor(@Value("${omnify.security.hashing.threads:0}") int threads,
+                                   @Value("${omnify.security.hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${omnify.security.hashing.retry-after:1s}") Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfter = retryAfter;
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            if (rejected != null) {
+                rejected.increment();
+            }
+            throw new ServiceOverloadedException("Too many authentication requests, try again shortly", retryAfter);
+        }
+    }
+
+    // A virtual thread per continuation, blocking on Mongo there costs no pool thread
+    public Executor completions() {
+        return completions;
+    }
+
+    // Background work that is simply dropped when the pool is saturated
+    public boolean tryExecute(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, "passwordHashing", List.of()).bindTo(registry);
+        rejected = Counter.builder("omnify.password.hashing.rejected").register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        completions.shutdown();
+    }
+}
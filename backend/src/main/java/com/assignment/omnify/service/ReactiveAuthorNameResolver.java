@@ -0,0 +1,82 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.model.User;
+import com.assignment.omnify.repository.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+// Non-blocking counterpart of AuthorNameResolver, shares the same author cache
+@Service
+@Profile("reactive")
+public class ReactiveAuthorNameResolver {
+
+    private final ReactiveUserRepository userRepository;
+    private final AuthorNameCache authorNameCache;
+    private final int batchSize;
+    private final int concurrency;
+
+    public ReactiveAuthorNameResolver(ReactiveUserRepository userRepository,
+                                      AuthorNameCache authorNameCache,
+                                      @Value("${omnify.reactive.author-batch-size:100}") int batchSize,
+                                      @Value("${omnify.reactive.author-batch-concurrency:4}") int concurrency) {
+        this.userRepository = userRepository;
+        this.authorNameCache = authorNameCache;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+    }
+
+    public Mono<AuthorSnapshot> snapshot(String userId) {
+        return snapshots(Set.of(userId))
+                .flatMap(snapshots -> Mono.justOrEmpty(snapshots.get(userId)))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("User not found")));
+    }
+
+    // Missing users are reported as an error
+    public Mono<Map<String, String>> resolveAll(Collection<String> userIds) {
+        return snapshots(userIds).map(snapshots -> {
+            Map<String, String> names = new HashMap<>();
+            for (String userId : userIds) {
+                AuthorSnapshot snapshot = snapshots.get(userId);
+                if (snapshot == null) {
+                    throw new RuntimeException("User not found");
+                }
+                names.put(userId, snapshot.getName());
+            }
+            return names;
+        });
+    }
+
+    // Cache hits first, the misses are split into $in batches that are queried concurrently
+    public Mono<Map<String, AuthorSnapshot>> snapshots(Collection<String> userIds) {
+        Set<String> distinctIds = new LinkedHashSet<>(userIds);
+        if (distinctIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        Map<String, AuthorSnapshot> cached = authorNameCache.getAllPresent(distinctIds);
+        if (cached.size() == distinctIds.size()) {
+            return Mono.just(cached);
+        }
+
+        distinctIds.removeAll(cached.keySet());
+        return Flux.fromIterable(distinctIds)
+                .buffer(batchSize)
+                .flatMap(userRepository::findAllById, concurrency)
+                .collectMap(User::getId, AuthorSnapshot::of)
+                .map(loaded -> {
+                    authorNameCache.putAll(loaded);
+                    Map<String, AuthorSnapshot> snapshots = new HashMap<>(cached);
+                    snapshots.putAll(loaded);
+                    return snapshots;
+                });
+    }
+}
@@ -0,0 +1,201 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.dto.BlogRequest;
+import com.assignment.omnify.dto.BlogResponse;
+import com.assignment.omnify.dto.BlogSummaryResponse;
+import com.assignment.omnify.dto.CursorPage;
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.repository.BlogSummaryView;
+import com.assignment.omnify.repository.ReactiveBlogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Same behaviour as BlogService on the reactive driver, nothing in here blocks
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveBlogService {
+
+    private final ReactiveBlogRepository blogRepository;
+    private final ReactiveAuthorNameResolver authorNameResolver;
+    private final BlogViewCounter blogViewCounter;
+    private final BlogEventListener blogEvents;
+
+
+    public Mono<BlogResponse> createBlog(BlogRequest request, String userId) {
+        return authorNameResolver.snapshot(userId)
+                .flatMap(author -> {
+                    Blog blog = new Blog();
+                    blog.setUserId(userId);
+                    blog.setTitle(request.getTitle());
+                    blog.setContent(request.getContent());
+                    blog.setExcerpt(Excerpts.from(request.getContent()));
+                    blog.setCreatedAt(Instant.now());
+                    blog.setAuthorName(author.getName());
+                    blog.setAuthorVersion(author.getVersion());
+                    return blogRepository.save(blog);
+                })
+                .map(savedBlog -> BlogResponse.fromEntity(savedBlog, savedBlog.getAuthorName()));
+    }
+
+    // The page query and the count run concurrently
+    public Mono<Page<BlogResponse>> getAllBlogs(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, BlogService.FEED_SORT);
+
+        return Mono.zip(blogRepository.findAllBy(pageable).collectList(), blogRepository.count())
+                .flatMap(pageAndTotal -> withAuthors(pageAndTotal.getT1(), Blog::getUserId, Blog::getAuthorName,
+                        BlogResponse::fromEntity)
+                        .map(items -> new PageImpl<>(items, pageable, pageAndTotal.getT2())));
+    }
+
+    public Mono<CursorPage<BlogResponse>> getBlogsAfter(String cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size + 1, BlogService.FEED_SORT);
+
+        Flux<Blog> blogs;
+        if (cursor == null || cursor.isBlank()) {
+            blogs = blogRepository.findAllBy(pageable);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            blogs = blogRepository.findAllAfter(after.getCreatedAt(), after.getId(), pageable);
+        }
+
+        return blogs.collectList().flatMap(fetched -> {
+            List<Blog> pageBlogs = fetched.size() > size ? fetched.subList(0, size) : fetched;
+            String nextCursor = null;
+            if (fetched.size() > size) {
+                Blog last = pageBlogs.get(pageBlogs.size() - 1);
+                nextCursor = FeedCursor.of(last.getCreatedAt(), last.getId()).encode();
+            }
+
+            String cursorOut = nextCursor;
+            return withAuthors(pageBlogs, Blog::getUserId, Blog::getAuthorName, BlogResponse::fromEntity)
+                    .map(items -> new CursorPage<>(items, cursorOut));
+        });
+    }
+
+    public Mono<Page<BlogSummaryResponse>> getBlogSummaries(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, BlogService.FEED_SORT);
+
+        return Mono.zip(blogRepository.findSummariesBy(pageable).collectList(), blogRepository.count())
+                .flatMap(pageAndTotal -> withAuthors(pageAndTotal.getT1(), BlogSummaryView::getUserId,
+                        BlogSummaryView::getAuthorName, BlogSummaryResponse::fromView)
+                        .map(items -> new PageImpl<>(items, pageable, pageAndTotal.getT2())));
+    }
+
+    public Mono<CursorPage<BlogSummaryResponse>> getBlogSummariesAfter(String cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size + 1, BlogService.FEED_SORT);
+
+        Flux<BlogSummaryView> summaries;
+        if (cursor == null || cursor.isBlank()) {
+            summaries = blogRepository.findSummariesBy(pageable);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            summaries = blogRepository.findSummariesAfter(after.getCreatedAt(), after.getId(), pageable);
+        }
+
+        return summaries.collectList().flatMap(fetched -> {
+            List<BlogSummaryView> pageBlogs = fetched.size() > size ? fetched.subList(0, size) : fetched;
+            String nextCursor = null;
+            if (fetched.size() > size) {
+                BlogSummaryView last = pageBlogs.get(pageBlogs.size() - 1);
+                nextCursor = FeedCursor.of(last.getCreatedAt(), last.getId()).encode();
+            }
+
+            String cursorOut = nextCursor;
+            return withAuthors(pageBlogs, BlogSummaryView::getUserId, BlogSummaryView::getAuthorName,
+                    BlogSummaryResponse::fromView)
+                    .map(items -> new CursorPage<>(items, cursorOut));
+        });
+    }
+
+    public Mono<BlogResponse> getBlogById(String blogId) {
+        return blogRepository.findById(blogId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Blog not found")))
+                .flatMap(blog -> withAuthors(List.of(blog), Blog::getUserId, Blog::getAuthorName, BlogResponse::fromEntity))
+                .map(items -> items.get(0))
+                .doOnNext(response -> blogViewCounter.record(blogId));
+    }
+
+
+    public Mono<BlogResponse> updateBlog(String blogId, BlogRequest request, String userId) {
+        return blogRepository.findById(blogId)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Blog not found")))
+                .flatMap(blog -> {
+                    if (!blog.getUserId().equals(userId)) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "You are not the author of this blog"));
+                    }
+
+                    Blog change = new Blog();
+                    change.setId(blogId);
+                    change.setUpdatedAt(Instant.now());
+                    if (request.getTitle() != null && !request.getTitle().isBlank()) {
+                        change.setTitle(request.getTitle());
+                    }
+                    if (request.getContent() != null && !request.getContent().isBlank()) {
+                        change.setContent(request.getContent());
+                        change.setExcerpt(Excerpts.from(request.getContent()));
+                    }
+
+                    // Only the changed fields are written, saving the loaded blog would undo views flushed since it was read
+                    if (blog.getAuthorName() != null) {
+                        return blogRepository.updateOwned(userId, change);
+                    }
+                    return authorNameResolver.snapshot(userId).flatMap(author -> {
+                        change.setAuthorName(author.getName());
+                        change.setAuthorVersion(author.getVersion());
+                        return blogRepository.updateOwned(userId, change);
+                    });
+                })
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Blog not found")))
+                // A targeted update emits no save event; the blog as written always has its author name, nothing blocks
+                .doOnNext(blogEvents::changed)
+                .map(updatedBlog -> BlogResponse.fromEntity(updatedBlog, updatedBlog.getAuthorName()));
+    }
+
+
+    public Mono<Void> deleteBlog(String blogId, String userId) {
+        return blogRepository.findById(blogId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Blog not found")))
+                .flatMap(blog -> {
+                    if (!blog.getUserId().equals(userId)) {
+                        return Mono.error(new RuntimeException("You are not allowed to delete this blog"));
+                    }
+                    return blogRepository.delete(blog);
+                });
+    }
+
+    // Only rows without a denormalized authorName go to the users collection, in one batched lookup
+    private <T, R> Mono<List<R>> withAuthors(List<T> rows,
+                                             Function<T, String> userIdOf,
+                                             Function<T, String> storedNameOf,
+                                             BiFunction<T, String, R> toResponse) {
+        List<String> missing = rows.stream()
+                .filter(row -> storedNameOf.apply(row) == null)
+                .map(userIdOf)
+                .toList();
+
+        Mono<Map<String, String>> names = missing.isEmpty() ? Mono.just(Map.of()) : authorNameResolver.resolveAll(missing);
+
+        return names.map(resolved -> rows.stream()
+                .map(row -> {
+                    String storedName = storedNameOf.apply(row);
+                    return toResponse.apply(row, storedName != null ? storedName : resolved.get(userIdOf.apply(row)));
+                })
+                .toList());
+    }
+}
@@ -0,0 +1,230 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.dto.BlogSummaryResponse;
+import com.assignment.omnify.model.Blog;
+import com.assignment.omnify.repository.BlogRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Top blogs by views and recency for GET /api/blogs/trending, engagement counting half as much every half-life.
+ * A new blog enters as if it had create-weight views at the moment it was created, views arrive in batches from
+ * BlogViewCounter's flushes, and edits and deletes from the mapping events and the change stream. Views of a blog
+ * that is not ranked but still within the window bring it back, read again with its stored total.
+ * Only blogs created within the window are ranked, at most max-tracked of them. At startup the ranking is rebuilt
+ * from the blogs of that window, their stored view totals counted as if they had happened at creation.
+ * Every change copies the top entries into an immutable list, which readers take from a volatile field without locking.
+ * An instance only sees its own views, behind a load balancer that is a fair sample of all of them.
+ */
+@Slf4j
+@Component
+public class TrendingBlogs {
+
+    private final TrendingRanking ranking;
+    private volatile List<BlogSummaryResponse> top = List.of();
+    private volatile boolean ready;
+
+    private final BlogRepository blogRepository;
+    private final AuthorNameResolver authorNameResolver;
+    private final boolean enabled;
+    private final Duration window;
+    private final int size;
+    private final double createWeight;
+    private final int batchSize;
+
+    public TrendingBlogs(BlogRepository blogRepository,
+                         AuthorNameResolver authorNameResolver,
+                         @Value("${omnify.trending.enabled:true}") boolean enabled,
+                         @Value("${omnify.trending.half-life:6h}") Duration halfLife,
+                         @Value("${omnify.trending.window:7d}") Duration window,
+                         @Value("${omnify.trending.size:100}") int size,
+                         @Value("${omnify.trending.max-tracked:10000}") int maxTracked,
+                         @Value("${omnify.trending.create-weight:10}") double createWeight,
+                         @Value("${omnify.trending.rebuild.batch-size:500}") int batchSize,
+                         MeterRegistry meterRegistry) {
+        this.ranking = new TrendingRanking(halfLife, maxTracked);
+        this.blogRepository = blogRepository;
+        this.authorNameResolver = authorNameResolver;
+        this.enabled = enabled;
+        this.window = window;
+        this.size = size;
+        this.createWeight = createWeight;
+        this.batchSize = batchSize;
+
+        Gauge.builder("omnify.trending.tracked", this, trending -> trending.tracked()).register(meterRegistry);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    // Writes made meanwhile are applied as they come, a blog they already ranked is not scored again.
+    // Also run again when the change stream lost track, ranked blogs the scan no longer finds were deleted meanwhile
+    public void rebuild() {
+        long start = System.nanoTime();
+        Instant startedAt = Instant.now();
+        Instant createdAfter = startedAt.minus(window);
+
+        Set<String> found = new HashSet<>();
+        try (Stream<Blog> blogs = blogRepository.streamForTrending(createdAfter, batchSize)) {
+            for (Blog blog : (Iterable<Blog>) blogs::iterator) {
+                BlogSummaryResponse summary = summaryOf(blog);
+                double score = ranking.score(createWeight + blog.getViews(), blog.getCreatedAt().toEpochMilli());
+                synchronized (this) {
+                    ranking.track(summary, score);
+                }
+                found.add(blog.getId());
+            }
+        }
+
+        synchronized (this) {
+            ranking.removeUnlisted(found, startedAt);
+            publish();
+        }
+        ready = true;
+        log.info("Trending blogs ready in {} ms: {} blogs created since {} read, {} ranked",
+                (System.nanoTime() - start) / 1_000_000, found.size(), createdAfter, tracked());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<BlogSummaryResponse> top(int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid limit");
+        }
+        if (!ready) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Trending blogs are still loading");
+        }
+
+        List<BlogSummaryResponse> blogs = top;
+        return blogs.size() > limit ? blogs.subList(0, limit) : blogs;
+    }
+
+    // A new blog starts ranking, one already ranked gets its title and excerpt refreshed
+    public void put(Blog blog) {
+        if (!enabled || blog.getId() == null || blog.getCreatedAt() == null
+                || blog.getCreatedAt().isBefore(Instant.now().minus(window))) {
+            return;
+        }
+
+        BlogSummaryResponse summary = summaryOf(blog);
+        double score = ranking.score(createWeight + blog.getViews(), blog.getCreatedAt().toEpochMilli());
+        synchronized (this) {
+            ranking.track(summary, score);
+            publish();
+        }
+    }
+
+    public void addViews(Map<String, Long> viewsById) {
+        if (!enabled || viewsById.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<String> untracked = new ArrayList<>();
+        synchronized (this) {
+            viewsById.forEach((id, views) -> {
+                if (!ranking.add(id, ranking.score(views, now))) {
+                    untracked.add(id);
+                }
+            });
+            publish();
+        }
+
+        if (!untracked.isEmpty()) {
+            readmit(untracked);
+        }
+    }
+
+    public void remove(String blogId) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (ranking.remove(blogId)) {
+                publish();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${omnify.trending.prune-interval:1m}",
+            initialDelayString = "${omnify.trending.prune-interval:1m}")
+    public void removeExpired() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (ranking.removeCreatedBefore(Instant.now().minus(window)) > 0) {
+                publish();
+            }
+        }
+    }
+
+    // Blogs pushed out past max-tracked, or created on another instance, come back with views as put does with a
+    // new blog: their stored total, which already holds the views just flushed, counted as if at creation.
+    // Blogs older than the window are not found and stay out
+    private void readmit(List<String> ids) {
+        List<Blog> blogs;
+        try {
+            blogs = blogRepository.findForTrending(ids, Instant.now().minus(window));
+        } catch (RuntimeException e) {
+            // Runs inside a view flush, which must not fail for this; they get another chance with their next views
+            log.warn("Could not read {} unranked blogs back into trending", ids.size(), e);
+            return;
+        }
+        if (blogs.isEmpty()) {
+            return;
+        }
+
+        List<BlogSummaryResponse> summaries = new ArrayList<>(blogs.size());
+        for (Blog blog : blogs) {
+            summaries.add(summaryOf(blog));
+        }
+        synchronized (this) {
+            for (int i = 0; i < blogs.size(); i++) {
+                Blog blog = blogs.get(i);
+                ranking.track(summaries.get(i), ranking.score(createWeight + blog.getViews(), blog.getCreatedAt().toEpochMilli()));
+            }
+            publish();
+        }
+    }
+
+    private synchronized int tracked() {
+        return ranking.size();
+    }
+
+    // Called with the lock held
+    private void publish() {
+        top = List.copyOf(ranking.top(size));
+    }
+
+    // Resolved before taking the lock, it may have to read the author
+    private BlogSummaryResponse summaryOf(Blog blog) {
+        String authorName = blog.getAuthorName() != null ? blog.getAuthorName() : authorNameResolver.resolve(blog.getUserId());
+        return new BlogSummaryResponse(blog.getId(), blog.getTitle(), authorName, blog.getExcerpt(), blog.getCreatedAt());
+    }
+}
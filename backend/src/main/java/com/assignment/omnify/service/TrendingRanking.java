@@ -0,0 +1,144 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.dto.BlogSummaryResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Blogs ordered by forward-decayed engagement. Every event adds weight * 2^(t / halfLife) to its blog, t being
+ * the time of the event. The decayed score would be that sum divided by 2^(now / halfLife), but the divisor is the
+ * same for every blog, so ranking by the sums alone gives the same order and no score is ever decayed in place.
+ * Sums are kept as log2, so they stay small however far t moves from the epoch.
+ * Not thread-safe, TrendingBlogs serializes every change.
+ */
+final class TrendingRanking {
+
+    private static final double LN_2 = Math.log(2);
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::score).reversed()
+            .thenComparing(Entry::id);
+
+    private record Entry(String id, double score) {
+    }
+
+    private static final class Tracked {
+        private BlogSummaryResponse summary;
+        private double score;
+
+        private Tracked(BlogSummaryResponse summary, double score) {
+            this.summary = summary;
+            this.score = score;
+        }
+    }
+
+    private final double halfLifeMillis;
+    private final int maxTracked;
+    private final Map<String, Tracked> tracked = new HashMap<>();
+    private final TreeSet<Entry> ranked = new TreeSet<>(ORDER);
+
+    TrendingRanking(Duration halfLife, int maxTracked) {
+        this.halfLifeMillis = halfLife.toMillis();
+        this.maxTracked = maxTracked;
+    }
+
+    // log2 of weight * 2^(at / halfLife), what one event contributes
+    double score(double weight, long atMillis) {
+        return Math.log(weight) / LN_2 + atMillis / halfLifeMillis;
+    }
+
+    // A blog already ranked only gets what is shown of it refreshed, its score stays
+    void track(BlogSummaryResponse summary, double score) {
+        Tracked existing = tracked.get(summary.getId());
+        if (existing != null) {
+            existing.summary = summary;
+            return;
+        }
+
+        tracked.put(summary.getId(), new Tracked(summary, score));
+        ranked.add(new Entry(summary.getId(), score));
+        if (ranked.size() > maxTracked) {
+            tracked.remove(ranked.pollLast().id());
+        }
+    }
+
+    // false when the blog is not ranked, e.g. older than the window or pushed out past maxTracked
+    boolean add(String id, double score) {
+        Tracked blog = tracked.get(id);
+        if (blog == null) {
+            return false;
+        }
+
+        ranked.remove(new Entry(id, blog.score));
+        blog.score = logSum(blog.score, score);
+        ranked.add(new Entry(id, blog.score));
+        return true;
+    }
+
+    boolean remove(String id) {
+        Tracked blog = tracked.remove(id);
+        if (blog == null) {
+            return false;
+        }
+        ranked.remove(new Entry(id, blog.score));
+        return true;
+    }
+
+    int removeCreatedBefore(Instant cutoff) {
+        int removed = 0;
+        Iterator<Map.Entry<String, Tracked>> blogs = tracked.entrySet().iterator();
+        while (blogs.hasNext()) {
+            Map.Entry<String, Tracked> blog = blogs.next();
+            if (blog.getValue().summary.getCreatedAt().isBefore(cutoff)) {
+                ranked.remove(new Entry(blog.getKey(), blog.getValue().score));
+                blogs.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    // Blogs created before cutoff that are not among ids, i.e. gone from a scan that covered everything up to cutoff
+    int removeUnlisted(Set<String> ids, Instant cutoff) {
+        int removed = 0;
+        Iterator<Map.Entry<String, Tracked>> blogs = tracked.entrySet().iterator();
+        while (blogs.hasNext()) {
+            Map.Entry<String, Tracked> blog = blogs.next();
+            if (!ids.contains(blog.getKey()) && blog.getValue().summary.getCreatedAt().isBefore(cutoff)) {
+                ranked.remove(new Entry(blog.getKey(), blog.getValue().score));
+                blogs.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    List<BlogSummaryResponse> top(int limit) {
+        List<BlogSummaryResponse> top = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (Entry entry : ranked) {
+            if (top.size() == limit) {
+                break;
+            }
+            top.add(tracked.get(entry.id()).summary);
+        }
+        return top;
+    }
+
+    int size() {
+        return tracked.size();
+    }
+
+    // log2(2^a + 2^b) without leaving log space
+    private static double logSum(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.pow(2, Math.min(a, b) - max)) / LN_2;
+    }
+}
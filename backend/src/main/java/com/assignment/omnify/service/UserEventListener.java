@@ -0,0 +1,45 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.model.User;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class UserEventListener extends AbstractMongoEventListener<User> {
+
+    private final AuthorNameCache authorNameCache;
+    private final AuthorNameFanout authorNameFanout;
+
+    @Override
+    public void onAfterConvert(AfterConvertEvent<User> event) {
+        event.getSource().setStoredName(event.getSource().getName());
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        User user = event.getSource();
+        authorNameCache.invalidate(user.getId());
+        // Only a rename has anything to write to the blogs, and a user that was never stored has no blogs yet
+        if (user.getStoredName() != null && !user.getStoredName().equals(user.getName())) {
+            authorNameFanout.propagate(user.getId(), AuthorSnapshot.of(user));
+        }
+        user.setStoredName(user.getName());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<User> event) {
+        Document filter = event.getSource();
+        Object id = filter.get("_id");
+        if (id != null && !(id instanceof Document)) {
+            authorNameCache.invalidate(id.toString());
+        } else {
+            authorNameCache.invalidateAll();
+        }
+    }
+}
@@ -3,7 +3,8 @@ package com.assignment.omnify;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {"omnify.mongo.indexes.mode=off", "omnify.search.enabled=false",
+        "omnify.cache.invalidation.enabled=false", "omnify.trending.enabled=false"})
 class OmnifyApplicationTests {
 
 	@Test
@@ -0,0 +1,26 @@
+package com.assignment.omnify;
+
+import com.assignment.omnify.controller.BlogController;
+import com.assignment.omnify.controller.ReactiveBlogController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"omnify.mongo.indexes.mode=off", "omnify.search.enabled=false",
+        "omnify.cache.invalidation.enabled=false", "omnify.trending.enabled=false"})
+@ActiveProfiles("reactive")
+class ReactiveProfileTests {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void contextLoadsWithReactiveControllers() {
+        assertThat(context.getBeanNamesForType(ReactiveBlogController.class)).hasSize(1);
+        assertThat(context.getBeanNamesForType(BlogController.class)).isEmpty();
+    }
+}
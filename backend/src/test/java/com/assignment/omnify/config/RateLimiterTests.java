@@ -0,0 +1,108 @@
+package com.assignment.omnify.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTests {
+
+    // 5 requests at once, then one every 200ms
+    private static final RateLimiter.Limit LIMIT = RateLimiter.Limit.of(5, Duration.ofSeconds(1));
+    private static final long INTERVAL = Duration.ofMillis(200).toNanos();
+
+    private long now = 1_000_000_000L;
+
+    @Test
+    void allowsABurstOfCapacityThenRejectsWithTheWait() {
+        RateLimiter limiter = new RateLimiter(1_000, () -> now);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("ip|a", LIMIT)).isZero();
+        }
+        assertThat(limiter.tryAcquire("ip|a", LIMIT)).isEqualTo(INTERVAL);
+        // Keys do not share buckets
+        assertThat(limiter.tryAcquire("ip|b", LIMIT)).isZero();
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        RateLimiter limiter = new RateLimiter(1_000, () -> now);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("ip|a", LIMIT);
+        }
+
+        now += INTERVAL / 2;
+        assertThat(limiter.tryAcquire("ip|a", LIMIT)).isEqualTo(INTERVAL / 2);
+
+        now += INTERVAL / 2;
+        assertThat(limiter.tryAcquire("ip|a", LIMIT)).isZero();
+        assertThat(limiter.tryAcquire("ip|a", LIMIT)).isEqualTo(INTERVAL);
+
+        // A rejected request does not use up a token
+        now += 3 * INTERVAL;
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("ip|a", LIMIT)).isZero();
+        }
+        assertThat(limiter.tryAcquire("ip|a", LIMIT)).isPositive();
+    }
+
+    @Test
+    void evictsOnlyBucketsThatHaveRefilled() {
+        RateLimiter limiter = new RateLimiter(1_000, () -> now);
+        limiter.tryAcquire("ip|once", LIMIT);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("ip|busy", LIMIT);
+        }
+
+        now += INTERVAL;
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+
+        // The busy bucket spent five tokens and has refilled one of them
+        now += 4 * INTERVAL;
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+        assertThat(limiter.size()).isZero();
+
+        // Evicting a full bucket changes nothing, the key starts with the whole burst again
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("ip|busy", LIMIT)).isZero();
+        }
+    }
+
+    @Test
+    void letsNewKeysThroughUntrackedWhenAStripeIsFull() {
+        // One bucket per stripe, so more keys than stripes must overflow
+        RateLimiter limiter = new RateLimiter(RateLimiter.STRIPES, () -> now);
+
+        List<String> overflowed = new ArrayList<>();
+        for (int i = 0; i <= RateLimiter.STRIPES; i++) {
+            String key = "ip|" + i;
+            long before = limiter.overflowCount();
+            assertThat(limiter.tryAcquire(key, LIMIT)).isZero();
+            if (limiter.overflowCount() > before) {
+                overflowed.add(key);
+            }
+        }
+        assertThat(overflowed).isNotEmpty();
+        assertThat(limiter.size() + overflowed.size()).isEqualTo(RateLimiter.STRIPES + 1);
+
+        // Untracked keys are never rejected while their stripe stays full of active buckets
+        String key = overflowed.get(0);
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(key, LIMIT)).isZero();
+        }
+
+        // Once the tracked buckets have refilled, the next new key sweeps them out and gets a bucket of its own
+        now += Duration.ofSeconds(1).toNanos();
+        long before = limiter.overflowCount();
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(key, LIMIT)).isZero();
+        }
+        assertThat(limiter.tryAcquire(key, LIMIT)).isPositive();
+        assertThat(limiter.overflowCount()).isEqualTo(before);
+    }
+}
@@ -0,0 +1,73 @@
+package com.assignment.omnify.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class ContentCodecTests {
+
+    private static final String TEXT = "Forward decay keeps every score comparable without rewriting it. ".repeat(100)
+            + "Ünïcödé, 漢字 and 🚀 survive the round trip.";
+
+    @Test
+    void roundTripsUtf8Text() {
+        byte[] stored = ContentCodec.encode(TEXT.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(stored[0]).isEqualTo(ContentCodec.DEFLATE);
+        assertThat(stored.length).isLessThan(TEXT.length() / 4);
+        assertThat(ContentCodec.decode(stored)).isEqualTo(TEXT);
+        assertThat(ContentCodec.decode(ContentCodec.encode(new byte[0]))).isEmpty();
+    }
+
+    @Test
+    void rejectsUnknownFormats() {
+        byte[] stored = ContentCodec.encode(TEXT.getBytes(StandardCharsets.UTF_8));
+        stored[0] = 2;
+
+        assertThatIllegalStateException().isThrownBy(() -> ContentCodec.decode(stored))
+                .withMessageContaining("Unknown blog content format 2");
+        assertThatIllegalStateException().isThrownBy(() -> ContentCodec.decode(new byte[0]))
+                .withMessageContaining("(empty)");
+    }
+
+    @Test
+    void rejectsTruncatedAndOverlongStreams() {
+        byte[] stored = ContentCodec.encode(TEXT.getBytes(StandardCharsets.UTF_8));
+
+        byte[] truncated = Arrays.copyOf(stored, stored.length - 10);
+        assertThatIllegalStateException().isThrownBy(() -> ContentCodec.decode(truncated));
+
+        // More text than the header says is never cut off silently
+        byte[] overlong = withLength(stored, TEXT.getBytes(StandardCharsets.UTF_8).length - 1);
+        assertThatIllegalStateException().isThrownBy(() -> ContentCodec.decode(overlong))
+                .withMessageContaining("does not match");
+
+        byte[] corrupt = stored.clone();
+        Arrays.fill(corrupt, 5, corrupt.length, (byte) 0x7f);
+        assertThatIllegalStateException().isThrownBy(() -> ContentCodec.decode(corrupt));
+    }
+
+    @Test
+    void rejectsImpossibleLengthsBeforeAllocating() {
+        byte[] stored = ContentCodec.encode(TEXT.getBytes(StandardCharsets.UTF_8));
+
+        assertThatIllegalStateException().isThrownBy(() -> ContentCodec.decode(withLength(stored, -1)))
+                .withMessageContaining("impossible length");
+        assertThatIllegalStateException().isThrownBy(() -> ContentCodec.decode(withLength(stored, Integer.MAX_VALUE)))
+                .withMessageContaining("impossible length");
+        byte[] tooLong = withLength(stored, ContentCodec.MAX_LENGTH + 1);
+        assertThatIllegalStateException().isThrownBy(() -> ContentCodec.decode(tooLong))
+                .withMessageContaining("impossible length");
+    }
+
+    private static byte[] withLength(byte[] stored, int length) {
+        byte[] changed = stored.clone();
+        ByteBuffer.wrap(changed, 1, 4).putInt(length);
+        return changed;
+    }
+}
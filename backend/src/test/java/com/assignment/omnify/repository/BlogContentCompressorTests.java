@@ -0,0 +1,54 @@
+package com.assignment.omnify.repository;
+
+import com.assignment.omnify.model.ContentCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlogContentCompressorTests {
+
+    @Test
+    void compressesOnlyBodiesOfAtLeastMinSize() {
+        BlogContentCompressor compressor = compressor(true, 0.2);
+
+        assertThat(compressor.compress(null)).isNull();
+        assertThat(compressor.compress("a".repeat(1023))).isNull();
+
+        byte[] stored = compressor.compress("a".repeat(1024));
+        assertThat(stored).isNotNull();
+        assertThat(ContentCodec.decode(stored)).isEqualTo("a".repeat(1024));
+
+        // Multi-byte text reaches min-size in bytes with fewer chars
+        assertThat(compressor.compress("é".repeat(512))).isNotNull();
+    }
+
+    @Test
+    void keepsBodiesThatDoNotShrinkByMinSaving() {
+        String noise = randomLetters(4096);
+        // Random letters deflate to about 60% of their size
+        assertThat(compressor(true, 0.2).compress(noise)).isNotNull();
+        assertThat(compressor(true, 0.5).compress(noise)).isNull();
+    }
+
+    @Test
+    void storesEverythingPlainWhenDisabled() {
+        assertThat(compressor(false, 0.2).compress("a".repeat(10_000))).isNull();
+    }
+
+    private static BlogContentCompressor compressor(boolean enabled, double minSaving) {
+        return new BlogContentCompressor(enabled, DataSize.ofKilobytes(1), minSaving, new SimpleMeterRegistry());
+    }
+
+    private static String randomLetters(int length) {
+        StringBuilder text = new StringBuilder(length);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(26)));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,134 @@
+package com.assignment.omnify.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTests {
+
+    @Test
+    void ranksTitleMatchesAndRarerTermsHigher() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("title", "Garbage collection", "A post about pauses.", 1);
+        index.put("body", "Pauses", "Notes on garbage collection in the JVM.", 2);
+        index.put("other", "Indexes", "How MongoDB picks an index.", 3);
+
+        assertThat(keys(index.search("garbage collection", 0, 10))).containsExactly("title", "body");
+        assertThat(keys(index.search("garbage mongodb", 0, 10))).containsExactlyInAnyOrder("title", "body", "other");
+        assertThat(keys(index.search("garbage", 1, 10))).containsExactly("body");
+        assertThat(index.search("missing", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void replacingOrRemovingADocumentDropsItsOldTerms() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("a", "Old title", "virtual threads", 1);
+        index.put("b", "Other", "virtual threads", 1);
+
+        index.put("a", "New title", "reactive streams", 2);
+        assertThat(keys(index.search("virtual", 0, 10))).containsExactly("b");
+        assertThat(keys(index.search("reactive", 0, 10))).containsExactly("a");
+
+        // An older version arriving late is ignored
+        index.put("a", "Old title", "virtual threads", 1);
+        assertThat(keys(index.search("virtual", 0, 10))).containsExactly("b");
+
+        index.remove("b");
+        assertThat(index.search("virtual", 0, 10)).isEmpty();
+        assertThat(index.stats().documents()).isEqualTo(1);
+        assertThat(index.watermark()).isEqualTo(2);
+    }
+
+    @Test
+    void offsetsPastTheMatchesAreEmpty() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("a", "Caching", "caching everywhere", 1);
+        index.put("b", "More caching", "still caching", 1);
+
+        assertThat(keys(index.search("caching", 1, Integer.MAX_VALUE))).hasSize(1);
+        assertThat(index.search("caching", 2, 10)).isEmpty();
+        assertThat(index.search("caching", 40_000_000L * 50, 50)).isEmpty();
+        assertThat(index.search("caching", Long.MAX_VALUE - 1, 10)).isEmpty();
+    }
+
+    @Test
+    void tombstonesDoNotTurnScoresNegative() {
+        InvertedIndex index = new InvertedIndex();
+        for (int version = 1; version <= 20; version++) {
+            index.put("a", "Caching", "caching everywhere", version);
+        }
+        index.put("b", "Other", "nothing related", 1);
+
+        List<InvertedIndex.Hit> hits = index.search("caching", 0, 10);
+        assertThat(keys(hits)).containsExactly("a");
+        assertThat(hits.get(0).score()).isPositive();
+    }
+
+    @Test
+    void removingUnlistedKeepsWhatAScanFoundOrWasWrittenSince() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("found", "Kept", "scan", 1);
+        index.put("gone", "Dropped", "scan", 2);
+        index.put("written", "Written during the scan", "scan", 10);
+
+        assertThat(index.removeUnlisted(Set.of("found"), 5)).isEqualTo(1);
+        assertThat(keys(index.search("scan", 0, 10))).containsExactlyInAnyOrder("found", "written");
+        assertThat(index.stats().documents()).isEqualTo(2);
+    }
+
+    @Test
+    void compactionRenumbersWithoutChangingResults() {
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 0; i < 3_000; i++) {
+            index.put("blog" + i, "Post " + i, i % 2 == 0 ? "even kotlin" : "odd java", i);
+        }
+        List<InvertedIndex.Hit> before = index.search("kotlin", 0, 5);
+
+        // The thousandth tombstone is a third of all doc numbers, enough to compact
+        for (int i = 1; i < 2_000; i += 2) {
+            index.remove("blog" + i);
+        }
+
+        assertThat(index.stats().deletedDocuments()).isZero();
+        assertThat(index.stats().documents()).isEqualTo(2_000);
+        assertThat(keys(index.search("java", 0, 2_000))).hasSize(500)
+                .allMatch(key -> Integer.parseInt(key.substring(4)) > 2_000);
+        assertThat(keys(index.search("kotlin", 0, 5))).isEqualTo(keys(before));
+        assertThat(keys(index.search("post 2998", 0, 1))).containsExactly("blog2998");
+
+        index.put("blog0", "Post 0", "now about java", 10_000);
+        assertThat(keys(index.search("java", 0, 2_000))).hasSize(501).contains("blog0");
+    }
+
+    @Test
+    void snapshotRoundTripKeepsDocumentsAndWatermark(@TempDir Path directory) throws IOException {
+        InvertedIndex index = new InvertedIndex();
+        index.put("a", "Bulk writes", "unordered bulk operations", 5);
+        index.put("b", "Change streams", "resume tokens and bulk invalidation", 7);
+        index.put("c", "Removed", "bulk", 6);
+        index.remove("c");
+
+        Path snapshot = directory.resolve("index.bin");
+        index.writeSnapshot(snapshot);
+
+        InvertedIndex restored = new InvertedIndex();
+        restored.readSnapshot(snapshot);
+
+        assertThat(restored.search("bulk", 0, 10)).isEqualTo(index.search("bulk", 0, 10));
+        assertThat(restored.watermark()).isEqualTo(7);
+        assertThat(restored.stats()).isEqualTo(index.stats());
+
+        restored.put("d", "After restore", "bulk", 8);
+        assertThat(keys(restored.search("bulk", 0, 10))).contains("a", "b", "d").doesNotContain("c");
+    }
+
+    private static List<String> keys(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::key).toList();
+    }
+}
@@ -0,0 +1,176 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.repository.BlogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BlogViewCounterTests {
+
+    private final BlogRepository blogRepository = mock(BlogRepository.class);
+    private final TrendingBlogs trendingBlogs = mock(TrendingBlogs.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Every increment the repository was asked for, copied since the counter reuses its batches
+    private final List<Map<String, Long>> increments = new ArrayList<>();
+
+    @Test
+    void flushesCountsOnceAndRetiresIdleCounters() {
+        BlogViewCounter counter = counter(1_000, Set.of());
+        record(counter, "a", 3);
+        record(counter, "b", 1);
+        assertThat(counter.pending("a")).isEqualTo(3);
+        assertThat(counter.size()).isEqualTo(2);
+
+        counter.flush();
+        assertThat(increments).containsExactly(Map.of("a", 3L, "b", 1L));
+        verify(trendingBlogs).addViews(Map.of("a", 3L, "b", 1L));
+        assertThat(counter.pending("a")).isZero();
+        // Still counted until a flush finds them at zero
+        assertThat(counter.size()).isEqualTo(2);
+
+        counter.flush();
+        assertThat(increments).hasSize(1);
+        assertThat(counter.size()).isZero();
+
+        // A retired blog gets a fresh counter
+        record(counter, "a", 1);
+        counter.flush();
+        assertThat(increments).last().isEqualTo(Map.of("a", 1L));
+    }
+
+    @Test
+    void failedIncrementsGoOutWithTheNextFlush() {
+        BlogViewCounter counter = counter(1_000, Set.of("a"));
+        record(counter, "a", 2);
+        record(counter, "b", 1);
+
+        counter.flush();
+        verify(trendingBlogs).addViews(Map.of("b", 1L));
+
+        when(blogRepository.incrementViews(anyMap())).thenAnswer(invocation -> succeed(invocation.getArgument(0)));
+        record(counter, "a", 1);
+        counter.flush();
+        assertThat(increments).last().isEqualTo(Map.of("a", 3L));
+        assertThat(meterRegistry.counter("omnify.blog.views.flushed").count()).isEqualTo(4);
+    }
+
+    @Test
+    void keepsEverythingWhenMongoIsUnreachable() {
+        BlogViewCounter counter = counter(1_000, Set.of());
+        when(blogRepository.incrementViews(anyMap())).thenThrow(new IllegalStateException("down"));
+        record(counter, "a", 2);
+        record(counter, "b", 1);
+
+        counter.flush();
+        verify(trendingBlogs, never()).addViews(anyMap());
+        assertThat(counter.pending("a")).isEqualTo(2);
+        assertThat(counter.pending("b")).isEqualTo(1);
+    }
+
+    @Test
+    void dropsViewsOfNewBlogsPastMaxPendingBlogs() {
+        BlogViewCounter counter = counter(1, Set.of());
+        record(counter, "a", 2);
+        record(counter, "b", 3);
+
+        assertThat(counter.size()).isEqualTo(1);
+        assertThat(meterRegistry.counter("omnify.blog.views.dropped").count()).isEqualTo(3);
+
+        counter.flush();
+        assertThat(increments).containsExactly(Map.of("a", 2L));
+    }
+
+    @Test
+    void concurrentViewsDuringFailingFlushesAreCountedExactlyOnce() throws InterruptedException {
+        Map<String, AtomicLong> written = new ConcurrentHashMap<>();
+        AtomicBoolean failing = new AtomicBoolean(true);
+        BlogViewCounter counter = new BlogViewCounter(blogRepository, trendingBlogs, 7, 1_000, meterRegistry);
+        when(blogRepository.incrementViews(anyMap())).thenAnswer(invocation -> {
+            Map<String, Long> batch = invocation.getArgument(0);
+            Set<String> failed = new HashSet<>();
+            batch.forEach((id, views) -> {
+                if (failing.get() && ThreadLocalRandom.current().nextInt(3) == 0) {
+                    failed.add(id);
+                } else {
+                    written.computeIfAbsent(id, key -> new AtomicLong()).addAndGet(views);
+                }
+            });
+            return failed;
+        });
+
+        int threads = 8;
+        int viewsPerThread = 20_000;
+        Map<String, AtomicLong> recorded = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < viewsPerThread; i++) {
+                    String id = "blog" + ThreadLocalRandom.current().nextInt(50);
+                    counter.record(id);
+                    recorded.computeIfAbsent(id, key -> new AtomicLong()).incrementAndGet();
+                }
+                done.countDown();
+            });
+        }
+        // Flushing while views arrive, so counters are retired and restored under the writers
+        while (done.getCount() > 0) {
+            counter.flush();
+        }
+        done.await();
+
+        failing.set(false);
+        counter.flush();
+        counter.flush();
+
+        assertThat(meterRegistry.counter("omnify.blog.views.dropped").count()).isZero();
+        assertThat(toLongs(written)).isEqualTo(toLongs(recorded));
+        assertThat(counter.size()).isZero();
+    }
+
+    private BlogViewCounter counter(int maxPendingBlogs, Set<String> failing) {
+        when(blogRepository.incrementViews(anyMap())).thenAnswer(invocation -> {
+            Map<String, Long> batch = invocation.getArgument(0);
+            Set<String> failed = new HashSet<>(batch.keySet());
+            failed.retainAll(failing);
+            increments.add(new HashMap<>(batch));
+            return failed;
+        });
+        return new BlogViewCounter(blogRepository, trendingBlogs, 1_000, maxPendingBlogs, meterRegistry);
+    }
+
+    private Set<String> succeed(Map<String, Long> batch) {
+        increments.add(new HashMap<>(batch));
+        return Set.of();
+    }
+
+    private static void record(BlogViewCounter counter, String blogId, int views) {
+        for (int i = 0; i < views; i++) {
+            counter.record(blogId);
+        }
+    }
+
+    private static Map<String, Long> toLongs(Map<String, AtomicLong> counts) {
+        Map<String, Long> values = new HashMap<>();
+        counts.forEach((id, count) -> values.put(id, count.get()));
+        return values;
+    }
+}
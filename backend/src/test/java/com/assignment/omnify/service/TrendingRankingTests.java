@@ -0,0 +1,122 @@
+package com.assignment.omnify.service;
+
+import com.assignment.omnify.dto.BlogSummaryResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TrendingRankingTests {
+
+    private static final Duration HALF_LIFE = Duration.ofHours(1);
+    private static final long HALF_LIFE_MILLIS = HALF_LIFE.toMillis();
+    private static final Instant CREATED = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void scoreIsLog2OfWeightDoublingEveryHalfLife() {
+        TrendingRanking ranking = new TrendingRanking(HALF_LIFE, 10);
+
+        assertThat(ranking.score(1, 0)).isZero();
+        assertThat(ranking.score(8, 0)).isCloseTo(3, within(1e-9));
+        assertThat(ranking.score(1, 3 * HALF_LIFE_MILLIS)).isCloseTo(3, within(1e-9));
+    }
+
+    @Test
+    void addedEventsSumTheirWeights() {
+        TrendingRanking ranking = new TrendingRanking(HALF_LIFE, 10);
+        ranking.track(summary("sum"), ranking.score(3, 0));
+        ranking.track(summary("below"), ranking.score(7.9, 0));
+        ranking.track(summary("above"), ranking.score(8.1, 0));
+
+        assertThat(ranking.add("sum", ranking.score(5, 0))).isTrue();
+        assertThat(ids(ranking.top(10))).containsExactly("above", "sum", "below");
+
+        // A view one half-life later weighs as much as two at the start
+        ranking.add("below", ranking.score(0.2, HALF_LIFE_MILLIS));
+        assertThat(ids(ranking.top(10))).containsExactly("below", "above", "sum");
+    }
+
+    @Test
+    void sumsStayFiniteFarFromTheEpoch() {
+        TrendingRanking ranking = new TrendingRanking(HALF_LIFE, 10);
+        long later = 100_000 * HALF_LIFE_MILLIS;
+        ranking.track(summary("old"), ranking.score(1_000_000, 0));
+        ranking.track(summary("recent"), ranking.score(0.99, later));
+
+        ranking.add("old", ranking.score(1, later));
+        assertThat(ids(ranking.top(10))).containsExactly("old", "recent");
+    }
+
+    @Test
+    void trackingAgainRefreshesTheSummaryButKeepsTheScore() {
+        TrendingRanking ranking = new TrendingRanking(HALF_LIFE, 10);
+        ranking.track(summary("a"), ranking.score(1, 0));
+        ranking.track(summary("b"), ranking.score(2, 0));
+
+        BlogSummaryResponse renamed = summary("a");
+        renamed.setTitle("Renamed");
+        ranking.track(renamed, ranking.score(100, 0));
+
+        assertThat(ids(ranking.top(10))).containsExactly("b", "a");
+        assertThat(ranking.top(10).get(1).getTitle()).isEqualTo("Renamed");
+        assertThat(ranking.size()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsTheLowestPastMaxTracked() {
+        TrendingRanking ranking = new TrendingRanking(HALF_LIFE, 2);
+        ranking.track(summary("a"), ranking.score(1, 0));
+        ranking.track(summary("b"), ranking.score(2, 0));
+        ranking.track(summary("c"), ranking.score(3, 0));
+
+        assertThat(ranking.size()).isEqualTo(2);
+        assertThat(ids(ranking.top(10))).containsExactly("c", "b");
+        assertThat(ranking.add("a", ranking.score(10, 0))).isFalse();
+
+        // A newcomer lower than everything ranked is not kept
+        ranking.track(summary("d"), ranking.score(0.5, 0));
+        assertThat(ids(ranking.top(10))).containsExactly("c", "b");
+
+        // Tracked again with a higher score, an evicted blog pushes out the lowest
+        ranking.track(summary("a"), ranking.score(10, 0));
+        assertThat(ids(ranking.top(10))).containsExactly("a", "c");
+        assertThat(ids(ranking.top(1))).containsExactly("a");
+    }
+
+    @Test
+    void removesByIdAgeAndAbsenceFromAScan() {
+        TrendingRanking ranking = new TrendingRanking(HALF_LIFE, 10);
+        ranking.track(summary("old", CREATED), ranking.score(5, 0));
+        ranking.track(summary("gone", CREATED.plusSeconds(60)), ranking.score(4, 0));
+        ranking.track(summary("kept", CREATED.plusSeconds(60)), ranking.score(3, 0));
+        ranking.track(summary("new", CREATED.plusSeconds(120)), ranking.score(2, 0));
+        ranking.track(summary("deleted", CREATED.plusSeconds(120)), ranking.score(1, 0));
+
+        assertThat(ranking.remove("deleted")).isTrue();
+        assertThat(ranking.remove("deleted")).isFalse();
+
+        assertThat(ranking.removeCreatedBefore(CREATED.plusSeconds(30))).isEqualTo(1);
+
+        // Blogs created after the scan started are kept whether or not it saw them
+        assertThat(ranking.removeUnlisted(Set.of("kept"), CREATED.plusSeconds(90))).isEqualTo(1);
+        assertThat(ids(ranking.top(10))).containsExactly("kept", "new");
+        assertThat(ranking.size()).isEqualTo(2);
+    }
+
+    private static BlogSummaryResponse summary(String id) {
+        return summary(id, CREATED);
+    }
+
+    private static BlogSummaryResponse summary(String id, Instant createdAt) {
+        return new BlogSummaryResponse(id, "Title " + id, "Author", "Excerpt", createdAt);
+    }
+
+    private static List<String> ids(List<BlogSummaryResponse> blogs) {
+        return blogs.stream().map(BlogSummaryResponse::getId).toList();
+    }
+}